@@ -0,0 +1,47 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.util.Autocorrelation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct against FFT autocorrelation across lag counts, to place the crossover that
+ * {@link Autocorrelation#acf(double[], int)} uses; {@code auto} is that choice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AcfBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int n;
+
+    @Param({"8", "32", "128", "2000"})
+    public int lags;
+
+    private double[] series;
+
+    @Setup
+    public void setUp() {
+        series = SeriesData.seasonal(n);
+    }
+
+    @Benchmark
+    public double[] direct() {
+        return Autocorrelation.direct(series, lags);
+    }
+
+    @Benchmark
+    public double[] fft() {
+        return Autocorrelation.fft(series, lags);
+    }
+
+    @Benchmark
+    public double[] auto() {
+        return Autocorrelation.acf(series, lags);
+    }
+}
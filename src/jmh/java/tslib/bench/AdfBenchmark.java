@@ -0,0 +1,36 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.tests.AugmentedDickeyFuller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Augmented Dickey-Fuller test with the default lag, which grows as cbrt(n). The ridge
+ * regression behind it forms the coefficient covariance through an n x n identity matrix,
+ * 200 MB at n = 5000 and 800 MB at 1e4, so sizes stop at 5000 until that is reworked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdfBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int n;
+
+    private List<Double> list;
+
+    @Setup
+    public void setUp() {
+        list = SeriesData.boxed(SeriesData.seasonal(n));
+    }
+
+    @Benchmark
+    public double adfStatistic() {
+        return new AugmentedDickeyFuller(list).getAdfStat();
+    }
+}
@@ -0,0 +1,62 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.model.expsmoothing.DoubleExpSmoothing;
+import tslib.model.expsmoothing.EtsModel;
+import tslib.model.expsmoothing.ExponentialSmoothing;
+import tslib.model.expsmoothing.SingleExpSmoothing;
+import tslib.model.expsmoothing.TripleExpSmoothing;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One forecast of every {@link ExponentialSmoothing} model over series of 1e2 to 1e7 points,
+ * through the allocation-free {@code double[]} overload and through the boxed list API.
+ * Run with {@code -prof gc}: the primitive path should report no allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpSmoothingBenchmark {
+
+    private static final int STEPS = 12;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"single", "double", "triple", "ets"})
+    public String model;
+
+    private ExponentialSmoothing smoothing;
+    private double[] series;
+    private double[] out;
+    private List<Double> list;
+
+    @Setup
+    public void setUp() {
+        smoothing = switch (model) {
+            case "single" -> new SingleExpSmoothing(0.3);
+            case "double" -> new DoubleExpSmoothing(0.5, 0.3, 1);
+            case "triple" -> new TripleExpSmoothing(0.5, 0.4, 0.3, 12, false);
+            default -> new EtsModel(EtsModel.Trend.DAMPED, EtsModel.Season.MULTIPLICATIVE, 0.5, 0.3, 0.4, 0.95, 12);
+        };
+        series = SeriesData.seasonal(n);
+        out = new double[n + STEPS];
+        list = SeriesData.boxed(series);
+    }
+
+    @Benchmark
+    public double[] forecastArray() {
+        smoothing.forecast(series, 0, n, STEPS, out, 0);
+        return out;
+    }
+
+    @Benchmark
+    public List<Double> forecastList() {
+        return smoothing.forecast(list, STEPS);
+    }
+}
@@ -0,0 +1,63 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.model.expsmoothing.AutoExpSmoothing;
+import tslib.model.expsmoothing.ExpSmoothingFitter;
+import tslib.model.expsmoothing.FitResult;
+import tslib.model.expsmoothing.ModelSelection;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of fitting one 120-point series; multiply by the series count for a panel estimate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FitBenchmark {
+
+    private final ExpSmoothingFitter fitter = new ExpSmoothingFitter();
+    private final AutoExpSmoothing pruned = new AutoExpSmoothing(fitter, Runnable::run,
+            AutoExpSmoothing.DEFAULT_COARSE_EVALUATIONS, AutoExpSmoothing.DEFAULT_PRUNE_MARGIN);
+    private final AutoExpSmoothing exhaustive = new AutoExpSmoothing(fitter, Runnable::run,
+            AutoExpSmoothing.DEFAULT_COARSE_EVALUATIONS, Double.POSITIVE_INFINITY);
+    private double[] series;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        series = new double[120];
+        for (int t = 0; t < series.length; t++) {
+            series[t] = (200 + 0.8 * t) * (1 + 0.3 * Math.sin(2 * Math.PI * t / 12)) + random.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    public FitResult fitSingle() {
+        return fitter.fitSingle(series);
+    }
+
+    @Benchmark
+    public FitResult fitDouble() {
+        return fitter.fitDouble(series, 1);
+    }
+
+    @Benchmark
+    public FitResult fitTriple() {
+        return fitter.fitTriple(series, 12);
+    }
+
+    @Benchmark
+    public ModelSelection selectPruned() {
+        return pruned.select(series, 4, 12);
+    }
+
+    @Benchmark
+    public ModelSelection selectExhaustive() {
+        return exhaustive.select(series, 4, 12);
+    }
+}
@@ -0,0 +1,63 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.model.expsmoothing.ForecastExecutor;
+import tslib.model.expsmoothing.TripleExpSmoothing;
+import tslib.util.SeriesPanel;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ForecastExecutor} as the pool grows from one worker.
+ * Compare the scores across {@code parallelism} values to read off the scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastExecutorBenchmark {
+
+    private static final int SERIES = 20_000;
+    private static final int LENGTH = 120;
+    private static final int STEPS = 12;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private ForecastExecutor executor;
+    private TripleExpSmoothing model;
+    private SeriesPanel panel;
+    private SeriesPanel out;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        executor = new ForecastExecutor(pool, ForecastExecutor.DEFAULT_BLOCK_SIZE);
+        model = new TripleExpSmoothing(0.5, 0.4, 0.3, 12, false);
+
+        Random random = new Random(42);
+        panel = new SeriesPanel(SERIES, LENGTH);
+        for (int t = 0; t < LENGTH; t++) {
+            for (int s = 0; s < SERIES; s++) {
+                panel.set(t, s, 100 + 20 * Math.sin(2 * Math.PI * t / 12) + random.nextGaussian());
+            }
+        }
+        out = new SeriesPanel(SERIES, LENGTH + STEPS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public SeriesPanel forecastPanel() {
+        executor.forecast(model, panel, STEPS, out);
+        return out;
+    }
+}
@@ -0,0 +1,147 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.movingaverage.SimpleMovingAverage;
+import tslib.movingaverage.WeightedMovingAverage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ring-buffer SMA and WMA against the former {@code ArrayDeque<Double>} windows, kept
+ * here as {@link DequeSma} and {@link DequeWma}, and against the compensated variants.
+ * Each call smooths {@code period + 1000} points, so the score is dominated by the 1000
+ * full-window updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovingAverageBenchmark {
+
+    private static final int SLIDES = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    public int period;
+
+    private List<Double> data;
+    private SimpleMovingAverage sma;
+    private WeightedMovingAverage wma;
+    private SimpleMovingAverage compensatedSma;
+    private WeightedMovingAverage compensatedWma;
+    private DequeSma dequeSma;
+    private DequeWma dequeWma;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        data = new ArrayList<>(period + SLIDES);
+        for (int i = 0; i < period + SLIDES; i++) {
+            data.add(100 + random.nextGaussian());
+        }
+        sma = new SimpleMovingAverage(period);
+        wma = new WeightedMovingAverage(period);
+        compensatedSma = new SimpleMovingAverage(period, true);
+        compensatedWma = new WeightedMovingAverage(period, true);
+        dequeSma = new DequeSma(period);
+        dequeWma = new DequeWma(period);
+    }
+
+    @Benchmark
+    public List<Double> sma() {
+        return sma.compute(data);
+    }
+
+    @Benchmark
+    public List<Double> dequeSma() {
+        return dequeSma.compute(data);
+    }
+
+    @Benchmark
+    public List<Double> wma() {
+        return wma.compute(data);
+    }
+
+    @Benchmark
+    public List<Double> dequeWma() {
+        return dequeWma.compute(data);
+    }
+
+    @Benchmark
+    public List<Double> compensatedSma() {
+        return compensatedSma.compute(data);
+    }
+
+    @Benchmark
+    public List<Double> compensatedWma() {
+        return compensatedWma.compute(data);
+    }
+
+    static final class DequeSma {
+
+        private final Deque<Double> window;
+        private final int period;
+        private double sum;
+
+        DequeSma(int period) {
+            this.period = period;
+            this.window = new ArrayDeque<>(period);
+        }
+
+        List<Double> compute(List<Double> data) {
+            List<Double> out = new ArrayList<>(data.size());
+            window.clear();
+            sum = 0.0;
+            for (double value : data) {
+                sum += value;
+                window.addLast(value);
+                if (window.size() > period) {
+                    sum -= window.removeFirst();
+                }
+                out.add((window.size() < period) ? null : sum / period);
+            }
+            return out;
+        }
+    }
+
+    static final class DequeWma {
+
+        private final Deque<Double> window;
+        private final int period;
+        private final double weightSum;
+
+        DequeWma(int period) {
+            this.period = period;
+            this.window = new ArrayDeque<>(period);
+            this.weightSum = period * (period + 1) / 2.0;
+        }
+
+        List<Double> compute(List<Double> data) {
+            List<Double> out = new ArrayList<>(data.size());
+            window.clear();
+            for (double value : data) {
+                window.addLast(value);
+                if (window.size() > period) {
+                    window.removeFirst();
+                }
+                if (window.size() < period) {
+                    out.add(null);
+                    continue;
+                }
+                double weighted = 0.0;
+                int weight = 1;
+                for (double v : window) {
+                    weighted += v * weight++;
+                }
+                out.add(weighted / weightSum);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.movingaverage.CumulativeMovingAverage;
+import tslib.movingaverage.ExponentialMovingAverage;
+import tslib.movingaverage.MovingAverage;
+import tslib.movingaverage.RollingMax;
+import tslib.movingaverage.RollingMin;
+import tslib.movingaverage.RollingQuantile;
+import tslib.movingaverage.SimpleMovingAverage;
+import tslib.movingaverage.WeightedMovingAverage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link MovingAverage} over series of 1e2 to 1e7 points with a 100-point window,
+ * streamed through {@code push(double)} and through the boxed {@code compute(List)}.
+ * {@link MovingAverageBenchmark} covers the window-size dependence of SMA and WMA.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovingAverageSweepBenchmark {
+
+    private static final int WINDOW = 100;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"sma", "wma", "cma", "ema", "min", "max", "median"})
+    public String average;
+
+    private MovingAverage movingAverage;
+    private double[] series;
+    private List<Double> list;
+
+    @Setup
+    public void setUp() {
+        movingAverage = switch (average) {
+            case "sma" -> new SimpleMovingAverage(WINDOW);
+            case "wma" -> new WeightedMovingAverage(WINDOW);
+            case "cma" -> new CumulativeMovingAverage();
+            case "ema" -> new ExponentialMovingAverage(0.1);
+            case "min" -> new RollingMin(WINDOW);
+            case "max" -> new RollingMax(WINDOW);
+            default -> new RollingQuantile(WINDOW, 0.5);
+        };
+        series = SeriesData.seasonal(n);
+        list = SeriesData.boxed(series);
+    }
+
+    @Benchmark
+    public double push() {
+        movingAverage.reset();
+        double last = 0.0;
+        for (double y : series) {
+            last = movingAverage.push(y);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public List<Double> computeList() {
+        return movingAverage.compute(list);
+    }
+}
@@ -0,0 +1,37 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.util.Stats;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Stats#getPacf(List, int)} at ten lags over series of 1e2 to 1e7 points: one ACF
+ * pass followed by the Durbin-Levinson recursion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacfBenchmark {
+
+    private static final int LAGS = 10;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int n;
+
+    private List<Double> list;
+
+    @Setup
+    public void setUp() {
+        list = SeriesData.boxed(SeriesData.seasonal(n));
+    }
+
+    @Benchmark
+    public double[] pacf() {
+        return Stats.getPacf(list, LAGS);
+    }
+}
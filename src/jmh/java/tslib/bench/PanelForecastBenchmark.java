@@ -0,0 +1,87 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tslib.model.expsmoothing.DoubleExpSmoothing;
+import tslib.model.expsmoothing.ExponentialSmoothing;
+import tslib.model.expsmoothing.SingleExpSmoothing;
+import tslib.model.expsmoothing.TripleExpSmoothing;
+import tslib.util.SeriesPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lockstep panel forecasting against one forecast call per series.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PanelForecastBenchmark {
+
+    private static final int LENGTH = 120;
+    private static final int STEPS = 12;
+
+    @Param({"1000", "10000"})
+    public int seriesCount;
+
+    @Param({"single", "double", "triple"})
+    public String model;
+
+    private ExponentialSmoothing smoothing;
+    private SeriesPanel panel;
+    private SeriesPanel out;
+    private double[][] series;
+    private List<List<Double>> lists;
+    private double[] scratch;
+
+    @Setup
+    public void setUp() {
+        smoothing = switch (model) {
+            case "single" -> new SingleExpSmoothing(0.3);
+            case "double" -> new DoubleExpSmoothing(0.5, 0.3, 1);
+            default -> new TripleExpSmoothing(0.5, 0.4, 0.3, 12, false);
+        };
+
+        Random random = new Random(42);
+        series = new double[seriesCount][LENGTH];
+        lists = new ArrayList<>(seriesCount);
+        for (double[] s : series) {
+            List<Double> list = new ArrayList<>(LENGTH);
+            for (int t = 0; t < LENGTH; t++) {
+                s[t] = 100 + 20 * Math.sin(2 * Math.PI * t / 12) + t * 0.5 + random.nextGaussian();
+                list.add(s[t]);
+            }
+            lists.add(list);
+        }
+        panel = SeriesPanel.fromSeries(series);
+        out = new SeriesPanel(seriesCount, LENGTH + STEPS);
+        scratch = new double[LENGTH + STEPS];
+    }
+
+    @Benchmark
+    public void perSeriesList(Blackhole bh) {
+        for (List<Double> list : lists) {
+            bh.consume(smoothing.forecast(list, STEPS));
+        }
+    }
+
+    @Benchmark
+    public void perSeriesArray(Blackhole bh) {
+        for (double[] s : series) {
+            smoothing.forecast(s, 0, LENGTH, STEPS, scratch, 0);
+            bh.consume(scratch);
+        }
+    }
+
+    @Benchmark
+    public SeriesPanel panel() {
+        smoothing.forecast(panel, STEPS, out);
+        return out;
+    }
+}
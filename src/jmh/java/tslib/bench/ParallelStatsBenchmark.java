@@ -0,0 +1,69 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.util.ParallelStats;
+import tslib.util.SeriesSummary;
+import tslib.util.Stats;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParallelStats} against the sequential {@link Stats} calls it parallelizes: mean,
+ * variance, min/max and autocovariances at a handful of lags over series past the L3.
+ * The speedup at a given {@code n} is the {@code sequential} score over the
+ * {@code parallel} score for each {@code parallelism}; the sequential score does not
+ * depend on {@code parallelism}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelStatsBenchmark {
+
+    private static final int[] LAGS = {1, 2, 7, 12, 365};
+
+    @Param({"1000000", "10000000"})
+    public int n;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private double[] series;
+    private ForkJoinPool pool;
+    private ParallelStats stats;
+
+    @Setup
+    public void setUp() {
+        series = SeriesData.seasonal(n);
+        pool = new ForkJoinPool(parallelism);
+        stats = new ParallelStats(pool, ParallelStats.DEFAULT_CHUNK_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double sequential() {
+        double[] extremes = Stats.getMinMax(series, 0, n);
+        double total = Stats.average(series, 0, n) + Stats.variance(series, 0, n) + extremes[0] + extremes[1];
+        for (int k : LAGS) {
+            total += Stats.getAutoCovariance(series, 0, n, k);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double parallel() {
+        SeriesSummary summary = stats.summarize(series, 0, n);
+        double total = summary.mean() + summary.variance() + summary.min() + summary.max();
+        for (double acov : stats.getAutoCovariances(series, 0, n, LAGS)) {
+            total += acov;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,63 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.movingaverage.MovingAverage;
+import tslib.movingaverage.MovingAveragePipeline;
+import tslib.util.SeriesPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Twelve indicators over one series: fused into a {@link MovingAveragePipeline} against
+ * one {@code compute(List)} pass per indicator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"100000"})
+    public int length;
+
+    private MovingAveragePipeline pipeline;
+    private double[] data;
+    private List<Double> boxed;
+    private SeriesPanel out;
+
+    @Setup
+    public void setUp() {
+        pipeline = MovingAveragePipeline.builder()
+                .sma(5, 20, 50, 200).wma(5, 20, 50, 200).ema(0.05, 0.1, 0.3).cma()
+                .build();
+        Random random = new Random(42);
+        data = new double[length];
+        boxed = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            data[i] = 100 + random.nextGaussian();
+            boxed.add(data[i]);
+        }
+        out = pipeline.newOutput(length);
+    }
+
+    @Benchmark
+    public SeriesPanel fused() {
+        pipeline.run(data, 0, length, out);
+        return out;
+    }
+
+    @Benchmark
+    public List<List<Double>> perIndicator() {
+        List<List<Double>> results = new ArrayList<>(pipeline.size());
+        for (int i = 0; i < pipeline.size(); i++) {
+            MovingAverage average = pipeline.get(i);
+            results.add(average.compute(boxed));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,47 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.movingaverage.MovingAverageRegistry;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyed EMA updates against a registry holding a million live streams.
+ * Run with {@code -t} > 1 to measure stripe contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+
+    private static final int KEYS = 1_000_000;
+
+    private MovingAverageRegistry registry;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        final SplittableRandom random = new SplittableRandom(42);
+    }
+
+    @Setup
+    public void setUp() {
+        registry = MovingAverageRegistry.ema(0.1);
+        for (long k = 0; k < KEYS; k++) {
+            registry.push(k, 0.0);
+        }
+    }
+
+    @Benchmark
+    public double pushLong(Keys keys) {
+        return registry.push(keys.random.nextInt(KEYS), 1.0);
+    }
+
+    @Benchmark
+    public double get(Keys keys) {
+        return registry.get(keys.random.nextInt(KEYS));
+    }
+}
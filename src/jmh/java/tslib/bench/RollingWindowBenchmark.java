@@ -0,0 +1,52 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.movingaverage.MovingAverage;
+import tslib.movingaverage.RollingMax;
+import tslib.movingaverage.RollingQuantile;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-point cost of the rolling extremes and quantiles over large windows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RollingWindowBenchmark {
+
+    private static final int POINTS = 1 << 16;
+
+    @Param({"1000", "10000"})
+    public int window;
+
+    @Param({"max", "median"})
+    public String indicator;
+
+    private MovingAverage rolling;
+    private double[] data;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        rolling = indicator.equals("max") ? new RollingMax(window) : RollingQuantile.median(window);
+        Random random = new Random(42);
+        data = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            data[i] = random.nextGaussian();
+        }
+        for (int i = 0; i < window; i++) {
+            rolling.push(data[i]);
+        }
+    }
+
+    @Benchmark
+    public double push() {
+        next = (next + 1) & (POINTS - 1);
+        return rolling.push(data[next]);
+    }
+}
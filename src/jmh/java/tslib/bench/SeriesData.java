@@ -0,0 +1,32 @@
+package tslib.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic input shared by the size-swept benchmarks: a positive series with trend,
+ * period-12 seasonality and Gaussian noise, so every model and transform accepts it.
+ */
+final class SeriesData {
+
+    private SeriesData() {
+    }
+
+    static double[] seasonal(int n) {
+        Random random = new Random(42);
+        double[] y = new double[n];
+        for (int t = 0; t < n; t++) {
+            y[t] = 200 + 1e-4 * t + 20 * Math.sin(2 * Math.PI * t / 12) + random.nextGaussian();
+        }
+        return y;
+    }
+
+    static List<Double> boxed(double[] y) {
+        List<Double> list = new ArrayList<>(y.length);
+        for (double v : y) {
+            list.add(v);
+        }
+        return list;
+    }
+}
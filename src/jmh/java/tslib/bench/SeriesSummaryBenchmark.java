@@ -0,0 +1,72 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.util.SeriesSummary;
+import tslib.util.Stats;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fused {@link SeriesSummary} pass against the separate scans it replaces: the
+ * {@link Stats} calls {@code Collect} used to make over a boxed list, and the same four
+ * scans over a {@code double[]}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeriesSummaryBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int n;
+
+    private double[] series;
+    private List<Double> list;
+
+    @Setup
+    public void setUp() {
+        series = SeriesData.seasonal(n);
+        list = SeriesData.boxed(series);
+    }
+
+    @Benchmark
+    public SeriesSummary fused() {
+        return SeriesSummary.of(series);
+    }
+
+    @Benchmark
+    public SeriesSummary fusedParallel() {
+        return SeriesSummary.parallel(series, 0, n);
+    }
+
+    @Benchmark
+    public double separateArrayScans() {
+        double mean = 0.0;
+        for (double y : series) {
+            mean += y;
+        }
+        mean /= n;
+        double m2 = 0.0;
+        for (double y : series) {
+            m2 += (y - mean) * (y - mean);
+        }
+        int minIndex = 0;
+        for (int i = 1; i < n; i++) {
+            if (series[i] < series[minIndex]) minIndex = i;
+        }
+        int maxIndex = 0;
+        for (int i = 1; i < n; i++) {
+            if (series[i] > series[maxIndex]) maxIndex = i;
+        }
+        return mean + m2 + minIndex + maxIndex;
+    }
+
+    @Benchmark
+    public double statsListCalls() {
+        int[] extremes = Stats.getMinMaxIndices(list);
+        return Stats.average(list) + Stats.variance(list) + Stats.standardDeviation(list) + extremes[0] + extremes[1];
+    }
+}
@@ -0,0 +1,70 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.util.Stats;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Stats} summaries and the ACF over series of 1e2 to 1e7 points, on boxed lists
+ * and, for the variance, on a {@code double[]} and an off-heap buffer as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsBenchmark {
+
+    private static final int LAGS = 20;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int n;
+
+    private List<Double> list;
+    private double[] array;
+    private DoubleBuffer direct;
+
+    @Setup
+    public void setUp() {
+        array = SeriesData.seasonal(n);
+        list = SeriesData.boxed(array);
+        direct = ByteBuffer.allocateDirect(8 * n).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        direct.put(array).flip();
+    }
+
+    @Benchmark
+    public double average() {
+        return Stats.average(list);
+    }
+
+    @Benchmark
+    public double variance() {
+        return Stats.variance(list);
+    }
+
+    @Benchmark
+    public double varianceArray() {
+        return Stats.variance(array, 0, n);
+    }
+
+    @Benchmark
+    public double varianceDirectBuffer() {
+        return Stats.variance(direct);
+    }
+
+    @Benchmark
+    public double[] minMax() {
+        return Stats.getMinMax(list);
+    }
+
+    @Benchmark
+    public double[] acf() {
+        return Stats.getAcf(list, LAGS);
+    }
+}
@@ -0,0 +1,35 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.transform.Transform;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Box-Cox lambda search over series of 1e2 to 1e7 points; every optimizer step
+ * evaluates the log-likelihood over the whole series.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int n;
+
+    private List<Double> list;
+
+    @Setup
+    public void setUp() {
+        list = SeriesData.boxed(SeriesData.seasonal(n));
+    }
+
+    @Benchmark
+    public double boxCoxLambdaSearch() {
+        return Transform.boxCoxLambdaSearch(list);
+    }
+}
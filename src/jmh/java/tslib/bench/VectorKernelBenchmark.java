@@ -0,0 +1,68 @@
+package tslib.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tslib.model.expsmoothing.DoubleExpSmoothing;
+import tslib.model.expsmoothing.ExponentialSmoothing;
+import tslib.model.expsmoothing.SingleExpSmoothing;
+import tslib.model.expsmoothing.TripleExpSmoothing;
+import tslib.util.SeriesPanel;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector API panel kernels against the scalar backend. Both methods run the same
+ * code; the scalar fork disables the vector backend with {@code -Dtslib.vector=false}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VectorKernelBenchmark {
+
+    private static final int LENGTH = 120;
+    private static final int STEPS = 12;
+
+    @Param({"10000"})
+    public int seriesCount;
+
+    @Param({"single", "double", "triple"})
+    public String model;
+
+    private ExponentialSmoothing smoothing;
+    private SeriesPanel panel;
+    private SeriesPanel out;
+
+    @Setup
+    public void setUp() {
+        smoothing = switch (model) {
+            case "single" -> new SingleExpSmoothing(0.3);
+            case "double" -> new DoubleExpSmoothing(0.5, 0.3, 1);
+            default -> new TripleExpSmoothing(0.5, 0.4, 0.3, 12, false);
+        };
+
+        Random random = new Random(42);
+        panel = new SeriesPanel(seriesCount, LENGTH);
+        for (int t = 0; t < LENGTH; t++) {
+            for (int s = 0; s < seriesCount; s++) {
+                panel.set(t, s, 100 + 20 * Math.sin(2 * Math.PI * t / 12) + t * 0.5 + random.nextGaussian());
+            }
+        }
+        out = new SeriesPanel(seriesCount, LENGTH + STEPS);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dtslib.vector=false")
+    public SeriesPanel scalar() {
+        smoothing.forecast(panel, STEPS, out);
+        return out;
+    }
+
+    @Benchmark
+    @Fork(1)
+    public SeriesPanel vector() {
+        smoothing.forecast(panel, STEPS, out);
+        return out;
+    }
+}
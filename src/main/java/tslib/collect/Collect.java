@@ -6,6 +6,7 @@ import tslib.tests.AugmentedDickeyFuller;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import tslib.util.SeriesSummary;
 import tslib.util.Util;
 import tslib.util.Stats;
 
@@ -22,13 +23,7 @@ public class Collect {
     protected final List<Double> _data;
     
     // Cached values for performance
-    private Double _cachedAverage = null;
-    private Double _cachedVariance = null;
-    private Double _cachedStandardDeviation = null;
-    private Integer _cachedMinIndex = null;
-    private Integer _cachedMaxIndex = null;
-    private Double _cachedMin = null;
-    private Double _cachedMax = null;
+    private SeriesSummary _cachedSummary = null;
     private Double _cachedADFStat = null;
     private Boolean _cachedIsStationary = null;
     private AugmentedDickeyFuller _adfInstance = null;
@@ -49,53 +44,42 @@ public class Collect {
 
     // === Summary Stats ===
 
-    public double getAverage() {
-        if (_cachedAverage == null) {
-            _cachedAverage = Stats.average(_data);
+    /**
+     * Mean, variance, extremes and their indices, computed together in one pass on first use.
+     */
+    public SeriesSummary getSummary() {
+        if (_cachedSummary == null) {
+            _cachedSummary = Stats.summarize(_data);
         }
-        return _cachedAverage;
+        return _cachedSummary;
+    }
+
+    public double getAverage() {
+        return getSummary().mean();
     }
 
     public double getVariance() {
-        if (_cachedVariance == null) {
-            _cachedVariance = Stats.variance(_data);
-        }
-        return _cachedVariance;
+        return getSummary().variance();
     }
 
     public double getStandardDeviation() {
-        if (_cachedStandardDeviation == null) {
-            _cachedStandardDeviation = Stats.standardDeviation(_data);
-        }
-        return _cachedStandardDeviation;
+        return getSummary().standardDeviation();
     }
 
     public int getMinIndex() {
-        if (_cachedMinIndex == null) {
-            _cachedMinIndex = findMinIndexOptimized();
-        }
-        return _cachedMinIndex;
+        return (int) getSummary().minIndex();
     }
 
     public int getMaxIndex() {
-        if (_cachedMaxIndex == null) {
-            _cachedMaxIndex = findMaxIndexOptimized();
-        }
-        return _cachedMaxIndex;
+        return (int) getSummary().maxIndex();
     }
 
     public double getMin() {
-        if (_cachedMin == null) {
-            _cachedMin = _data.get(getMinIndex());
-        }
-        return _cachedMin;
+        return getSummary().min();
     }
 
     public double getMax() {
-        if (_cachedMax == null) {
-            _cachedMax = _data.get(getMaxIndex());
-        }
-        return _cachedMax;
+        return getSummary().max();
     }
 
     // === Autocorrelation Metrics ===
@@ -180,50 +164,6 @@ public class Collect {
         return _cachedIsStationary;
     }
 
-    // === Optimized Helper Methods ===
-
-    /**
-     * Optimized min index finder - single pass O(n)
-     */
-    private int findMinIndexOptimized() {
-        if (_data.isEmpty()) {
-            throw new IllegalArgumentException("Data cannot be empty");
-        }
-        
-        int minIndex = 0;
-        double minValue = _data.get(0);
-        
-        for (int i = 1; i < _data.size(); i++) {
-            double current = _data.get(i);
-            if (current < minValue) {
-                minValue = current;
-                minIndex = i;
-            }
-        }
-        return minIndex;
-    }
-
-    /**
-     * Optimized max index finder - single pass O(n)
-     */
-    private int findMaxIndexOptimized() {
-        if (_data.isEmpty()) {
-            throw new IllegalArgumentException("Data cannot be empty");
-        }
-        
-        int maxIndex = 0;
-        double maxValue = _data.get(0);
-        
-        for (int i = 1; i < _data.size(); i++) {
-            double current = _data.get(i);
-            if (current > maxValue) {
-                maxValue = current;
-                maxIndex = i;
-            }
-        }
-        return maxIndex;
-    }
-
     // === Summary ===
 
     @Override
@@ -0,0 +1,279 @@
+package tslib.model.expsmoothing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Selects the smoothing model with the lowest AICc for a series.
+ *
+ * Candidates are {@link SingleExpSmoothing}, {@link DoubleExpSmoothing} with each
+ * initialization method and {@link TripleExpSmoothing} for every candidate period
+ * that fits two full seasons into the series. The initial trend and seasonal indices
+ * are computed once per period and shared by all fits that use them.
+ *
+ * Selection runs in two stages. Every candidate first gets a coarse fit with a small
+ * evaluation budget; candidates whose AICc trails the best one by more than the prune
+ * margin are dropped, and the rest are refined from their coarse factors with the
+ * fitter's full budget. Both stages fit candidates concurrently on the executor.
+ *
+ * Each candidate is fitted on its own one-step-ahead errors, but AICc is computed on a
+ * window common to all of them: the observations after the first season of the longest
+ * candidate period (from the first, without seasonal candidates), since seasonal models
+ * never score their first season, where fits are worst. With {@code n} errors in that
+ * window, AICc is {@code n ln(SSE / n) + 2k + 2k(k + 1) / (n - k - 1)}, where {@code k}
+ * counts the smoothing factors, the initial states and the error variance.
+ *
+ * Example usage:
+ *   ModelSelection selection = new AutoExpSmoothing().select(data, 4, 12);
+ *   double[] forecast = selection.getModel().forecast(data, 12);
+ */
+public class AutoExpSmoothing {
+
+    /**
+     * Default number of SSE evaluations per candidate in the coarse stage.
+     */
+    public static final int DEFAULT_COARSE_EVALUATIONS = 60;
+
+    /**
+     * Default AICc gap beyond which a candidate is dropped after the coarse stage.
+     */
+    public static final double DEFAULT_PRUNE_MARGIN = 10.0;
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final ExpSmoothingFitter fitter;
+    private final Executor executor;
+    private final int coarseEvaluations;
+    private final double pruneMargin;
+
+    /**
+     * Uses the default fitter on the common fork/join pool.
+     */
+    public AutoExpSmoothing() {
+        this(new ExpSmoothingFitter(), ForkJoinPool.commonPool(), DEFAULT_COARSE_EVALUATIONS, DEFAULT_PRUNE_MARGIN);
+    }
+
+    /**
+     * @param fitter fits the candidates; its evaluation budget applies to the refinement stage
+     * @param executor runs the candidate fits
+     * @param coarseEvaluations SSE evaluations per candidate in the coarse stage
+     * @param pruneMargin AICc gap beyond which a candidate is not refined;
+     *                    {@link Double#POSITIVE_INFINITY} refines every candidate
+     */
+    public AutoExpSmoothing(ExpSmoothingFitter fitter, Executor executor, int coarseEvaluations, double pruneMargin) {
+        if (coarseEvaluations <= 0) {
+            throw new IllegalArgumentException("Coarse evaluations must be a positive integer!");
+        }
+        if (!(pruneMargin >= 0)) {
+            throw new IllegalArgumentException("Prune margin must be >= 0.");
+        }
+        this.fitter = Objects.requireNonNull(fitter, "fitter");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.coarseEvaluations = coarseEvaluations;
+        this.pruneMargin = pruneMargin;
+    }
+
+    public ModelSelection select(double[] data, int... periods) {
+        return select(data, 0, (data == null) ? 0 : data.length, periods);
+    }
+
+    /**
+     * Selects a model for {@code data[offset, offset + length)}.
+     *
+     * @param periods candidate seasonal periods; periods longer than half the series are skipped
+     * @return the selected model
+     */
+    public ModelSelection select(double[] data, int offset, int length, int[] periods) {
+        checkInput(data, offset, length, periods);
+        return select(data, offset, length, periods, executor);
+    }
+
+    /**
+     * Selects a model for each series. Series are distributed over the executor and the
+     * candidates of one series are fitted by the same task, so the work per task stays coarse.
+     *
+     * @return one selection per input series, in input order
+     */
+    public ModelSelection[] select(double[][] series, int... periods) {
+        if (series == null) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        for (double[] data : series) {
+            checkInput(data, 0, (data == null) ? 0 : data.length, periods);
+        }
+        ModelSelection[] result = new ModelSelection[series.length];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[series.length];
+        for (int i = 0; i < series.length; i++) {
+            int s = i;
+            futures[i] = CompletableFuture.runAsync(
+                    () -> result[s] = select(series[s], 0, series[s].length, periods, DIRECT), executor);
+        }
+        join(CompletableFuture.allOf(futures));
+        return result;
+    }
+
+    private ModelSelection select(double[] data, int offset, int length, int[] periods, Executor runner) {
+        List<Candidate> candidates = candidates(data, offset, length, periods);
+
+        List<CompletableFuture<Void>> coarse = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            coarse.add(CompletableFuture.runAsync(() -> c.coarse(coarseEvaluations), runner));
+        }
+        join(CompletableFuture.allOf(coarse.toArray(new CompletableFuture<?>[0])));
+
+        double best = Double.POSITIVE_INFINITY;
+        for (Candidate c : candidates) {
+            best = Math.min(best, c.aicc);
+        }
+
+        int pruned = 0;
+        List<CompletableFuture<Void>> refine = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            if (c.aicc - best > pruneMargin) {
+                pruned++;
+            } else {
+                refine.add(CompletableFuture.runAsync(() -> c.refine(fitter.maxEvaluations()), runner));
+            }
+        }
+        join(CompletableFuture.allOf(refine.toArray(new CompletableFuture<?>[0])));
+
+        Candidate winner = null;
+        for (Candidate c : candidates) {
+            if (c.refined && (winner == null || c.aicc < winner.aicc)) {
+                winner = c;
+            }
+        }
+        return new ModelSelection(winner.result, winner.aicc, candidates.size(), pruned);
+    }
+
+    private List<Candidate> candidates(double[] data, int offset, int length, int[] periods) {
+        int from = 1;
+        for (int period : periods) {
+            if (length >= 2 * period) {
+                from = Math.max(from, Math.max(3, period));
+            }
+        }
+        int scored = from;
+        int errors = length - from;
+
+        List<Candidate> candidates = new ArrayList<>();
+        candidates.add(new Candidate(errors, 3, (start, budget) -> fitter.fitSingle(data, offset, length),
+                p -> SingleExpSmoothing.sse(data, offset, length, p[0], scored)));
+        if (length >= 3) {
+            for (int method = 0; method <= 2; method++) {
+                int m = method;
+                candidates.add(new Candidate(errors, 5, (start, budget) ->
+                        fitter.fitDouble(data, offset, length, m, (start == null) ? new double[]{0.5, 0.1} : start,
+                                budget),
+                        p -> DoubleExpSmoothing.sse(data, offset, length, p[0], p[1], m, scored)));
+            }
+        }
+        for (int period : periods) {
+            if (length < 2 * period) {
+                continue;
+            }
+            SeasonalInit init = SeasonalInit.of(data, offset, length, period);
+            double[] ring = new double[period];
+            candidates.add(new Candidate(errors, 6 + period, (start, budget) ->
+                    fitter.fitTriple(data, offset, length, init,
+                            (start == null) ? new double[]{0.3, 0.1, 0.1} : start, budget),
+                    p -> TripleExpSmoothing.sse(data, offset, length, period, p[0], p[1], p[2],
+                            init.trend, init.indices, ring, scored)));
+        }
+        return candidates;
+    }
+
+    private static void checkInput(double[] data, int offset, int length, int[] periods) {
+        if (data == null || length < 2) {
+            throw new IllegalArgumentException("Data must contain at least 2 points.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.requireNonNull(periods, "periods");
+        for (int period : periods) {
+            if (period <= 1) {
+                throw new IllegalArgumentException("Period must be > 1.");
+            }
+        }
+    }
+
+    private static void join(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static double aicc(double sse, int n, int k) {
+        if (n <= 0 || n - k - 1 <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double variance = Math.max(sse / n, Double.MIN_NORMAL);
+        return n * Math.log(variance) + 2.0 * k + 2.0 * k * (k + 1) / (n - k - 1);
+    }
+
+    @FunctionalInterface
+    private interface Fit {
+        FitResult run(double[] start, int budget);
+    }
+
+    /**
+     * SSE of a fit over the window shared by every candidate.
+     */
+    @FunctionalInterface
+    private interface Score {
+        double sse(double[] parameters);
+    }
+
+    /**
+     * One candidate model; each is touched by a single task per stage.
+     */
+    private static final class Candidate {
+
+        private final int errors;
+        private final int k;
+        private final Fit fit;
+        private final Score score;
+
+        private FitResult result;
+        private double aicc;
+        private boolean refined;
+
+        Candidate(int errors, int k, Fit fit, Score score) {
+            this.errors = errors;
+            this.k = k;
+            this.fit = fit;
+            this.score = score;
+        }
+
+        void coarse(int budget) {
+            set(fit.run(null, budget));
+            // a single factor is fitted exactly by Brent's method in the first stage
+            refined = result.getParameters().length == 1;
+        }
+
+        void refine(int budget) {
+            if (!refined) {
+                FitResult coarse = result;
+                FitResult fine = fit.run(coarse.getParameters(), budget);
+                int evaluations = coarse.getEvaluations() + fine.getEvaluations();
+                FitResult better = (fine.getSse() <= coarse.getSse()) ? fine : coarse;
+                set(new FitResult(better.getModel(), better.getParameters(), better.getSse(), evaluations));
+                refined = true;
+            }
+        }
+
+        private void set(FitResult fit) {
+            result = fit;
+            aicc = aicc(score.sse(fit.getParameters()), errors, k);
+        }
+    }
+}
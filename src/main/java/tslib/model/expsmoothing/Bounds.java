@@ -0,0 +1,49 @@
+package tslib.model.expsmoothing;
+
+import java.util.Objects;
+
+import tslib.util.SeriesPanel;
+
+/**
+ * Bounds checks shared by the primitive forecasting overloads.
+ */
+final class Bounds {
+
+    private Bounds() {
+    }
+
+    static void check(double[] data, int offset, int length, int steps, double[] out, int outOffset) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Steps must be >= 0.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.requireNonNull(out, "out");
+        Objects.checkFromIndexSize(outOffset, length + steps, out.length);
+    }
+
+    static void check(double[] data, int offset, int length, PredictionIntervals out) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.requireNonNull(out, "out");
+    }
+
+    static void check(double[] data, int offset, int length, int steps, ForecastResult result) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Steps must be >= 0.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.requireNonNull(result, "result");
+    }
+
+    static void check(SeriesPanel data, int steps, SeriesPanel out) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        if (steps < 0) {
+            throw new IllegalArgumentException("Steps must be >= 0.");
+        }
+        Objects.requireNonNull(out, "out");
+        if (out.seriesCount() != data.seriesCount() || out.length() < data.length() + steps) {
+            throw new IllegalArgumentException("Output panel must match the series count and hold length + steps rows.");
+        }
+    }
+}
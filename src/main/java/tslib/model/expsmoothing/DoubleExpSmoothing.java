@@ -1,7 +1,6 @@
 package tslib.model.expsmoothing;
 
-import java.util.ArrayList;
-import java.util.List;
+import tslib.util.SeriesPanel;
 
 /**
  * Double Exponential Smoothing (Holt's Linear Trend Method).
@@ -25,39 +24,191 @@ public class DoubleExpSmoothing implements ExponentialSmoothing {
     }
 
     @Override
-    public List<Double> forecast(List<Double> data, int steps) {
-        if (data == null || data.size() < 2) {
+    public ExpSmoothingUpdater newUpdater() {
+        return new DoubleExpSmoothingUpdater(alpha, gamma, initializationMethod);
+    }
+
+    @Override
+    public void forecast(double[] data, int offset, int length, int steps, double[] out, int outOffset) {
+        if (data == null || length < 2) {
             throw new IllegalArgumentException("Data must contain at least 2 points.");
         }
+        Bounds.check(data, offset, length, steps, out, outOffset);
+
+        int n = length;
+        double s = data[offset];
+        double b = 0.0;
+        switch (initializationMethod) {
+            case 0 -> b = data[offset + 1] - data[offset];
+            case 1 -> b = (n > 4) ? (data[offset + 3] - data[offset]) / 3 : data[offset + 1] - data[offset];
+            case 2 -> b = (data[offset + n - 1] - data[offset]) / (n - 1);
+        }
+
+        out[outOffset] = s + b;
+
+        // Only the previous level and trend are needed, so no per-call state arrays
+        for (int i = 1; i < n; i++) {
+            double prevS = s;
+            s = alpha * data[offset + i] + (1 - alpha) * (prevS + b);
+            b = gamma * (s - prevS) + (1 - gamma) * b;
+            out[outOffset + i] = s + b;
+        }
+
+        for (int j = 0; j < steps; j++) {
+            out[outOffset + n + j] = s + (j + 1) * b;
+        }
+    }
 
-        int n = data.size();
-        double[] y = new double[n + steps];
-        double[] s = new double[n];
-        double[] b = new double[n];
+    /**
+     * The state is {level, trend}; the first observation only initializes it.
+     */
+    @Override
+    public void forecast(double[] data, int offset, int length, int steps, ForecastResult result) {
+        if (data == null || length < 2) {
+            throw new IllegalArgumentException("Data must contain at least 2 points.");
+        }
+        Bounds.check(data, offset, length, steps, result);
+        result.prepare(length, steps, 2);
 
-        s[0] = data.get(0);
+        int n = length;
+        double s = data[offset];
+        double b = 0.0;
         switch (initializationMethod) {
-            case 0 -> b[0] = data.get(1) - data.get(0);
-            case 1 -> b[0] = (n > 4) ? (data.get(3) - data.get(0)) / 3 : data.get(1) - data.get(0);
-            case 2 -> b[0] = (data.get(n - 1) - data.get(0)) / (n - 1);
+            case 0 -> b = data[offset + 1] - data[offset];
+            case 1 -> b = (n > 4) ? (data[offset + 3] - data[offset]) / 3 : data[offset + 1] - data[offset];
+            case 2 -> b = (data[offset + n - 1] - data[offset]) / (n - 1);
+        }
+
+        result.unfitted(0);
+        for (int i = 1; i < n; i++) {
+            double y = data[offset + i];
+            result.fit(i, y, s + b);
+            double prevS = s;
+            s = alpha * y + (1 - alpha) * (prevS + b);
+            b = gamma * (s - prevS) + (1 - gamma) * b;
         }
 
-        y[0] = s[0] + b[0];
+        double[] forecast = result.forecast();
+        for (int h = 1; h <= steps; h++) {
+            forecast[h - 1] = s + h * b;
+        }
+        result.state()[0] = s;
+        result.state()[1] = b;
+    }
 
+    /**
+     * The h-step forecast error variance is sigma^2 (1 + sum of c_j^2 for j < h) with
+     * c_j = alpha (1 + j gamma), the linear trend model in error-correction form.
+     */
+    @Override
+    public void forecastIntervals(double[] data, int offset, int length, PredictionIntervals out) {
+        if (data == null || length < 2) {
+            throw new IllegalArgumentException("Data must contain at least 2 points.");
+        }
+        Bounds.check(data, offset, length, out);
+
+        int n = length;
+        double s = data[offset];
+        double b = 0.0;
+        switch (initializationMethod) {
+            case 0 -> b = data[offset + 1] - data[offset];
+            case 1 -> b = (n > 4) ? (data[offset + 3] - data[offset]) / 3 : data[offset + 1] - data[offset];
+            case 2 -> b = (data[offset + n - 1] - data[offset]) / (n - 1);
+        }
+
+        double sse = 0.0;
         for (int i = 1; i < n; i++) {
-            s[i] = alpha * data.get(i) + (1 - alpha) * (s[i - 1] + b[i - 1]);
-            b[i] = gamma * (s[i] - s[i - 1]) + (1 - gamma) * b[i - 1];
-            y[i] = s[i] + b[i];
+            double y = data[offset + i];
+            double error = y - (s + b);
+            sse += error * error;
+            double prevS = s;
+            s = alpha * y + (1 - alpha) * (prevS + b);
+            b = gamma * (s - prevS) + (1 - gamma) * b;
+        }
+
+        out.sigma(sse, n - 1);
+        double multiplier = 1.0;
+        for (int h = 1; h <= out.steps(); h++) {
+            out.set(h, s + h * b, multiplier);
+            double c = alpha * (1 + h * gamma);
+            multiplier += c * c;
+        }
+    }
+
+    /**
+     * Smooths all series of the panel in lockstep, one row at a time.
+     * Keeps one level and one trend per series.
+     */
+    @Override
+    public void forecast(SeriesPanel data, int steps, SeriesPanel out) {
+        Bounds.check(data, steps, out);
+        if (data.length() < 2) {
+            throw new IllegalArgumentException("Data must contain at least 2 points.");
         }
 
+        int width = data.seriesCount();
+        int n = data.length();
+        double[] y = data.values();
+        double[] result = out.values();
+        double[] level = new double[width];
+        double[] trend = new double[width];
+
+        for (int s = 0; s < width; s++) {
+            double y0 = y[s];
+            level[s] = y0;
+            switch (initializationMethod) {
+                case 0 -> trend[s] = y[width + s] - y0;
+                case 1 -> trend[s] = (n > 4) ? (y[3 * width + s] - y0) / 3 : y[width + s] - y0;
+                case 2 -> trend[s] = (y[(n - 1) * width + s] - y0) / (n - 1);
+            }
+            result[s] = level[s] + trend[s];
+        }
+
+        PanelKernel.INSTANCE.holt(y, result, level, trend, width, n, alpha, gamma);
+
         for (int j = 0; j < steps; j++) {
-            y[n + j] = s[n - 1] + (j + 1) * b[n - 1];
+            int row = (n + j) * width;
+            for (int s = 0; s < width; s++) {
+                result[row + s] = level[s] + (j + 1) * trend[s];
+            }
         }
+    }
 
-        List<Double> forecast = new ArrayList<>(y.length);
-        for (double v : y) {
-            forecast.add(v);
+    /**
+     * Sum of squared one-step-ahead errors: each observation against the previous
+     * level plus trend, i.e. the preceding value of the fitted output.
+     * Allocation-free, used when fitting alpha and gamma.
+     */
+    static double sse(double[] data, int offset, int length, double alpha, double gamma, int initializationMethod) {
+        return sse(data, offset, length, alpha, gamma, initializationMethod, 1);
+    }
+
+    /**
+     * As {@link #sse(double[], int, int, double, double, int)}, scoring only the observations
+     * from {@code from} on.
+     */
+    static double sse(double[] data, int offset, int length, double alpha, double gamma, int initializationMethod,
+                      int from) {
+        int n = length;
+        double s = data[offset];
+        double b = 0.0;
+        switch (initializationMethod) {
+            case 0 -> b = data[offset + 1] - data[offset];
+            case 1 -> b = (n > 4) ? (data[offset + 3] - data[offset]) / 3 : data[offset + 1] - data[offset];
+            case 2 -> b = (data[offset + n - 1] - data[offset]) / (n - 1);
+        }
+
+        double sse = 0.0;
+        for (int i = 1; i < n; i++) {
+            double y = data[offset + i];
+            if (i >= from) {
+                double error = y - (s + b);
+                sse += error * error;
+            }
+            double prevS = s;
+            s = alpha * y + (1 - alpha) * (prevS + b);
+            b = gamma * (s - prevS) + (1 - gamma) * b;
         }
-        return forecast;
+        return sse;
     }
 }
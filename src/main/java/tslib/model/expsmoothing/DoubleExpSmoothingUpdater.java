@@ -0,0 +1,149 @@
+package tslib.model.expsmoothing;
+
+import java.nio.ByteBuffer;
+
+import tslib.util.Snapshottable;
+
+/**
+ * Incremental Double Exponential Smoothing (Holt's Linear Trend Method).
+ *
+ * Initialization methods 0 and 1 only look at the first few observations, so they
+ * are buffered and replayed once the initial trend is known: method 0 needs two
+ * points, method 1 needs four (the batch model uses the same estimate once the
+ * series is longer than four points). Method 2 uses the last observation of the
+ * whole series and is only available through {@link #initialize(double[], int, int)}.
+ */
+public class DoubleExpSmoothingUpdater implements ExpSmoothingUpdater {
+
+    private final double alpha;
+    private final double gamma;
+    private final int initializationMethod;
+    private final double[] warmup;
+
+    private double level;
+    private double trend;
+    private long count;
+    private boolean initialized;
+
+    public DoubleExpSmoothingUpdater(double alpha, double gamma, int initializationMethod) {
+        if (alpha <= 0 || alpha > 1 || gamma <= 0 || gamma > 1) {
+            throw new IllegalArgumentException("Alpha and gamma must be in (0, 1].");
+        }
+        if (initializationMethod < 0 || initializationMethod > 2) {
+            throw new IllegalArgumentException("Initialization method must be 0, 1, or 2.");
+        }
+        this.alpha = alpha;
+        this.gamma = gamma;
+        this.initializationMethod = initializationMethod;
+        this.warmup = new double[initializationMethod == 1 ? 4 : 2];
+    }
+
+    @Override
+    public void update(double y) {
+        if (initialized) {
+            step(y);
+            count++;
+            return;
+        }
+        if (initializationMethod == 2) {
+            throw new IllegalStateException("Initialization method 2 needs the full history; call initialize first.");
+        }
+
+        warmup[(int) count++] = y;
+        if (count == warmup.length) {
+            level = warmup[0];
+            trend = (initializationMethod == 0)
+                    ? warmup[1] - warmup[0]
+                    : (warmup[3] - warmup[0]) / 3;
+            for (int i = 1; i < warmup.length; i++) {
+                step(warmup[i]);
+            }
+            initialized = true;
+        }
+    }
+
+    @Override
+    public void initialize(double[] history, int offset, int length) {
+        if (history == null || length < 2) {
+            throw new IllegalArgumentException("Data must contain at least 2 points.");
+        }
+        reset();
+
+        double y0 = history[offset];
+        level = y0;
+        switch (initializationMethod) {
+            case 0 -> trend = history[offset + 1] - y0;
+            case 1 -> trend = (length > 4) ? (history[offset + 3] - y0) / 3 : history[offset + 1] - y0;
+            case 2 -> trend = (history[offset + length - 1] - y0) / (length - 1);
+        }
+        for (int i = 1; i < length; i++) {
+            step(history[offset + i]);
+        }
+        count = length;
+        initialized = true;
+    }
+
+    private void step(double y) {
+        double prevLevel = level;
+        level = alpha * y + (1 - alpha) * (prevLevel + trend);
+        trend = gamma * (level - prevLevel) + (1 - gamma) * trend;
+    }
+
+    @Override
+    public double forecast(int h) {
+        if (h < 1) {
+            throw new IllegalArgumentException("Horizon must be >= 1.");
+        }
+        if (!isReady()) {
+            throw new IllegalStateException("Not enough observations to estimate the initial trend.");
+        }
+        return level + h * trend;
+    }
+
+    @Override
+    public boolean isReady() {
+        return initialized;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Layout: initialization method, initialized flag, count, level, trend, warmup buffer.
+     */
+    @Override
+    public int snapshotSize() {
+        return 29 + 8 * warmup.length;
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.putInt(initializationMethod).put((byte) (initialized ? 1 : 0));
+        out.putLong(count).putDouble(level).putDouble(trend);
+        for (double y : warmup) {
+            out.putDouble(y);
+        }
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        Snapshottable.checkMatch(in.getInt(), initializationMethod);
+        initialized = in.get() != 0;
+        count = in.getLong();
+        level = in.getDouble();
+        trend = in.getDouble();
+        for (int i = 0; i < warmup.length; i++) {
+            warmup[i] = in.getDouble();
+        }
+    }
+
+    @Override
+    public void reset() {
+        level = 0.0;
+        trend = 0.0;
+        count = 0;
+        initialized = false;
+    }
+}
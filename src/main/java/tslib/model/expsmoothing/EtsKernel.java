@@ -0,0 +1,226 @@
+package tslib.model.expsmoothing;
+
+import tslib.model.expsmoothing.EtsModel.Season;
+import tslib.model.expsmoothing.EtsModel.Trend;
+
+/**
+ * State-space recurrences shared by every {@link EtsModel} variant and its updater.
+ *
+ * Each step takes the level {@code l}, trend {@code b} and the seasonal index {@code s}
+ * from one period ago, with {@code base = l + phi * b} ({@code phi = 1} for an undamped
+ * trend, {@code b = 0} without one):
+ * <pre>
+ *   forecast  base + s              (additive)       base * s            (multiplicative)
+ *   level     alpha (y - s) + (1 - alpha) base       alpha y / s + (1 - alpha) base
+ *   trend     gamma (level - l) + (1 - gamma) phi b
+ *   season    beta (y - level) + (1 - beta) s        beta y / level + (1 - beta) s
+ * </pre>
+ * matching the factor roles of {@link TripleExpSmoothing}. Nothing here allocates.
+ */
+final class EtsKernel {
+
+    private EtsKernel() {
+    }
+
+    /**
+     * @return number of observations needed to initialize the state
+     */
+    static int minimumLength(Trend trend, Season season, int period) {
+        if (season != Season.NONE) {
+            return 2 * period;
+        }
+        return (trend == Trend.NONE) ? 1 : 2;
+    }
+
+    /**
+     * The first observation without seasonality, otherwise the mean of the first period.
+     */
+    static double initialLevel(Season season, int period, double[] y, int offset) {
+        if (season == Season.NONE) {
+            return y[offset];
+        }
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += y[offset + i];
+        }
+        return sum / period;
+    }
+
+    /**
+     * The first difference without seasonality, otherwise the mean per-step change
+     * between the first two periods.
+     */
+    static double initialTrend(Trend trend, Season season, int period, double[] y, int offset) {
+        if (trend == Trend.NONE) {
+            return 0.0;
+        }
+        if (season == Season.NONE) {
+            return y[offset + 1] - y[offset];
+        }
+        return TripleExpSmoothing.calculateInitialTrend(y, offset, period);
+    }
+
+    /**
+     * Initial index for one season of the first period, relative to the initial level.
+     */
+    static double initialSeason(Season season, double y, double level) {
+        return (season == Season.MULTIPLICATIVE) ? y / level : y - level;
+    }
+
+    static double damping(Trend trend, double phi) {
+        return (trend == Trend.DAMPED) ? phi : 1.0;
+    }
+
+    static double predict(Season season, double base, double s) {
+        return switch (season) {
+            case NONE -> base;
+            case ADDITIVE -> base + s;
+            case MULTIPLICATIVE -> base * s;
+        };
+    }
+
+    static double nextLevel(Season season, double alpha, double y, double base, double s) {
+        return switch (season) {
+            case NONE -> alpha * y + (1 - alpha) * base;
+            case ADDITIVE -> alpha * (y - s) + (1 - alpha) * base;
+            case MULTIPLICATIVE -> alpha * y / s + (1 - alpha) * base;
+        };
+    }
+
+    static double nextTrend(Trend trend, double gamma, double phi, double level, double prevLevel, double b) {
+        if (trend == Trend.NONE) {
+            return 0.0;
+        }
+        return gamma * (level - prevLevel) + (1 - gamma) * phi * b;
+    }
+
+    static double nextSeason(Season season, double beta, double y, double level, double s) {
+        return (season == Season.MULTIPLICATIVE)
+                ? beta * y / level + (1 - beta) * s
+                : beta * (y - level) + (1 - beta) * s;
+    }
+
+    /**
+     * Runs the recurrences over {@code y[offset, offset + n)} and returns the sum of squared
+     * one-step-ahead errors. When {@code out} is non-null it receives the one-step fitted value
+     * for every observation followed by {@code steps} forecasts.
+     *
+     * Seasonal models keep their indices in {@code ring[ringOffset, ringOffset + period)}. The ring
+     * may be the start of the output itself: the first period's fitted values are then written
+     * after the forecasts, by replaying that period from the initial state, which needs no ring.
+     */
+    static double run(Trend trend, Season season, int period,
+                      double alpha, double beta, double gamma, double phi,
+                      double[] y, int offset, int n, int steps,
+                      double[] ring, int ringOffset, double[] out, int outOffset) {
+        return run(trend, season, period, alpha, beta, gamma, phi, y, offset, n, steps,
+                ring, ringOffset, out, outOffset, null);
+    }
+
+    /**
+     * As {@link #run(Trend, Season, int, double, double, double, double, double[], int, int, int,
+     * double[], int, double[], int)}; when {@code state} is non-null it also receives the final
+     * level and trend in {@code state[0]} and {@code state[1]}, and the ring is left holding the
+     * indices last used, slot {@code t % period} for step t.
+     */
+    static double run(Trend trend, Season season, int period,
+                      double alpha, double beta, double gamma, double phi,
+                      double[] y, int offset, int n, int steps,
+                      double[] ring, int ringOffset, double[] out, int outOffset, double[] state) {
+        boolean seasonal = season != Season.NONE;
+        boolean ringInOutput = seasonal && out == ring && outOffset == ringOffset;
+        double damping = damping(trend, phi);
+
+        double level = initialLevel(season, period, y, offset);
+        double b = initialTrend(trend, season, period, y, offset);
+        if (seasonal) {
+            for (int i = 0; i < period; i++) {
+                ring[ringOffset + i] = initialSeason(season, y[offset + i], level);
+            }
+        }
+
+        // Without seasonality the initial state is read off the first observation itself
+        int start = seasonal ? 0 : 1;
+        if (out != null && !seasonal) {
+            out[outOffset] = y[offset];
+        }
+
+        double sse = 0.0;
+        for (int t = start; t < n; t++) {
+            double yt = y[offset + t];
+            int slot = seasonal ? ringOffset + t % period : 0;
+            double s = seasonal ? ring[slot] : 0.0;
+            double base = level + damping * b;
+
+            double fitted = predict(season, base, s);
+            double error = yt - fitted;
+            sse += error * error;
+            if (out != null && !(ringInOutput && t < period)) {
+                out[outOffset + t] = fitted;
+            }
+
+            double prevLevel = level;
+            level = nextLevel(season, alpha, yt, base, s);
+            b = nextTrend(trend, gamma, damping, level, prevLevel, b);
+            if (seasonal) {
+                ring[slot] = nextSeason(season, beta, yt, level, s);
+            }
+        }
+
+        if (state != null) {
+            state[0] = level;
+            state[1] = b;
+        }
+        if (out == null) {
+            return sse;
+        }
+
+        forecast(season, period, damping, level, b, ring, ringOffset, n, steps, out, outOffset + n);
+
+        if (ringInOutput) {
+            replayFirstPeriod(trend, season, period, alpha, gamma, damping, y, offset, out, outOffset);
+        }
+        return sse;
+    }
+
+    /**
+     * Writes the forecasts 1 to {@code steps} ahead of the state after {@code n} observations
+     * to {@code out[outOffset, outOffset + steps)}; {@code ring} holds the indices as {@link #run}
+     * leaves them.
+     */
+    static void forecast(Season season, int period, double damping, double level, double b,
+                         double[] ring, int ringOffset, int n, int steps, double[] out, int outOffset) {
+        boolean seasonal = season != Season.NONE;
+        double factor = 0.0;
+        double power = 1.0;
+        for (int h = 1; h <= steps; h++) {
+            power *= damping;
+            factor += power;
+            double s = seasonal ? ring[ringOffset + (n + h - 1) % period] : 0.0;
+            out[outOffset + h - 1] = predict(season, level + factor * b, s);
+        }
+    }
+
+    /**
+     * Recomputes the fitted values of the first period. Each initial index is read exactly
+     * once during that period, so it is derived on the fly instead of from a ring.
+     */
+    private static void replayFirstPeriod(Trend trend, Season season, int period,
+                                          double alpha, double gamma, double damping,
+                                          double[] y, int offset, double[] out, int outOffset) {
+        double level = initialLevel(season, period, y, offset);
+        double b = initialTrend(trend, season, period, y, offset);
+        double level0 = level;
+
+        for (int t = 0; t < period; t++) {
+            double yt = y[offset + t];
+            double s = initialSeason(season, yt, level0);
+            double base = level + damping * b;
+            out[outOffset + t] = predict(season, base, s);
+
+            double prevLevel = level;
+            level = nextLevel(season, alpha, yt, base, s);
+            b = nextTrend(trend, gamma, damping, level, prevLevel, b);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package tslib.model.expsmoothing;
+
+/**
+ * Exponential smoothing state-space (ETS) family with a selectable trend and seasonality.
+ *
+ * Covers the variants the fixed models lack: damped trends and additive seasonality,
+ * alongside the plain and multiplicative forms, all on one allocation-free
+ * {@link EtsKernel}. Factor roles follow {@link TripleExpSmoothing}: alpha smooths the
+ * level, gamma the trend and beta the seasonal indices; phi damps the trend.
+ *
+ * The output holds the one-step-ahead fitted value for every observation (the first
+ * observation itself for non-seasonal models), followed by the forecasts.
+ *
+ * Example usage:
+ *   ExponentialSmoothing model = EtsModel.additiveHoltWinters(0.5, 0.3, 0.1, 12);
+ *   double[] forecast = model.forecast(data, 12);
+ */
+public class EtsModel implements ExponentialSmoothing {
+
+    public enum Trend {
+        NONE, ADDITIVE, DAMPED
+    }
+
+    public enum Season {
+        NONE, ADDITIVE, MULTIPLICATIVE
+    }
+
+    private final Trend trend;
+    private final Season season;
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final double phi;
+    private final int period;
+
+    /**
+     * @param trend trend component
+     * @param season seasonal component
+     * @param alpha level smoothing factor in (0, 1]
+     * @param beta seasonal smoothing factor in [0, 1], ignored without seasonality
+     * @param gamma trend smoothing factor in [0, 1], ignored without a trend
+     * @param phi damping factor in (0, 1], ignored unless the trend is damped
+     * @param period season length, ignored without seasonality
+     */
+    public EtsModel(Trend trend, Season season, double alpha, double beta, double gamma, double phi, int period) {
+        if (trend == null || season == null) {
+            throw new IllegalArgumentException("Trend and season must not be null.");
+        }
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        }
+        if (beta < 0.0 || beta > 1.0 || gamma < 0.0 || gamma > 1.0) {
+            throw new IllegalArgumentException("Smoothing factors must be between 0.0 and 1.0.");
+        }
+        if (trend == Trend.DAMPED && (phi <= 0 || phi > 1)) {
+            throw new IllegalArgumentException("Phi must be in (0, 1]");
+        }
+        if (season != Season.NONE && period <= 1) {
+            throw new IllegalArgumentException("Period must be > 1.");
+        }
+        this.trend = trend;
+        this.season = season;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.phi = (trend == Trend.DAMPED) ? phi : 1.0;
+        this.period = (season == Season.NONE) ? 1 : period;
+    }
+
+    /**
+     * Holt's linear method with a damped trend.
+     */
+    public static EtsModel dampedTrend(double alpha, double gamma, double phi) {
+        return new EtsModel(Trend.DAMPED, Season.NONE, alpha, 0.0, gamma, phi, 1);
+    }
+
+    /**
+     * Holt-Winters with additive seasonality.
+     */
+    public static EtsModel additiveHoltWinters(double alpha, double beta, double gamma, int period) {
+        return new EtsModel(Trend.ADDITIVE, Season.ADDITIVE, alpha, beta, gamma, 1.0, period);
+    }
+
+    public Trend getTrend() {
+        return trend;
+    }
+
+    public Season getSeason() {
+        return season;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Seasonal models keep their indices in the start of {@code out}, which is
+     * filled with the first period's fitted values once the pass is done.
+     */
+    @Override
+    public void forecast(double[] data, int offset, int length, int steps, double[] out, int outOffset) {
+        int minimum = EtsKernel.minimumLength(trend, season, period);
+        if (data == null || length < minimum) {
+            throw new IllegalArgumentException("Data must contain at least " + minimum + " points.");
+        }
+        Bounds.check(data, offset, length, steps, out, outOffset);
+
+        EtsKernel.run(trend, season, period, alpha, beta, gamma, phi,
+                data, offset, length, steps, out, outOffset, out, outOffset);
+    }
+
+    /**
+     * Fitted values match the one-step values of the combined output, with {@code NaN} for the
+     * first observation of non-seasonal models. The state is {level, trend} (the trend 0 without
+     * one) followed, for seasonal models, by the indices of the next {@code period} steps, the
+     * one for one step ahead first.
+     */
+    @Override
+    public void forecast(double[] data, int offset, int length, int steps, ForecastResult result) {
+        int minimum = EtsKernel.minimumLength(trend, season, period);
+        if (data == null || length < minimum) {
+            throw new IllegalArgumentException("Data must contain at least " + minimum + " points.");
+        }
+        Bounds.check(data, offset, length, steps, result);
+        boolean seasonal = season != Season.NONE;
+        result.prepare(length, steps, seasonal ? 2 + period : 2);
+
+        double[] state = result.state();
+        double[] fitted = result.fitted();
+        EtsKernel.run(trend, season, period, alpha, beta, gamma, phi,
+                data, offset, length, 0, state, 2, fitted, 0, state);
+        if (!seasonal) {
+            result.unfitted(0);
+        }
+        for (int t = seasonal ? 0 : 1; t < length; t++) {
+            result.fit(t, data[offset + t], fitted[t]);
+        }
+
+        EtsKernel.forecast(season, period, phi, state[0], state[1], state, 2, length, steps, result.forecast(), 0);
+        if (seasonal) {
+            TripleExpSmoothing.rotate(state, 2, period, length % period);
+        }
+    }
+
+    /**
+     * The additive-error form of the recurrences updates the level by {@code alpha e}, the
+     * trend by {@code alpha gamma e} and an additive index by {@code beta (1 - alpha) e}, so the
+     * h-step variance is sigma^2 (1 + sum of c_j^2 for j < h) with
+     * c_j = alpha (1 + gamma (phi + ... + phi^j)) + beta (1 - alpha) when j is a multiple of
+     * the period. Multiplicative seasonality uses the same multipliers, as
+     * {@link TripleExpSmoothing} does, an approximation that holds while seasonal swings are moderate.
+     */
+    @Override
+    public void forecastIntervals(double[] data, int offset, int length, PredictionIntervals out) {
+        int minimum = EtsKernel.minimumLength(trend, season, period);
+        if (data == null || length < minimum) {
+            throw new IllegalArgumentException("Data must contain at least " + minimum + " points.");
+        }
+        Bounds.check(data, offset, length, out);
+        boolean seasonal = season != Season.NONE;
+
+        double[] state = out.scratch(2 + period);
+        double sse = EtsKernel.run(trend, season, period, alpha, beta, gamma, phi,
+                data, offset, length, 0, state, 2, null, 0, state);
+        out.sigma(sse, seasonal ? length : length - 1);
+
+        double[] point = out.point();
+        EtsKernel.forecast(season, period, phi, state[0], state[1], state, 2, length, out.steps(), point, 0);
+
+        double trendGain = (trend == Trend.NONE) ? 0.0 : gamma;
+        double seasonGain = seasonal ? beta * (1 - alpha) : 0.0;
+        double factor = 0.0;
+        double power = 1.0;
+        double multiplier = 1.0;
+        for (int h = 1; h <= out.steps(); h++) {
+            out.set(h, point[h - 1], multiplier);
+            power *= phi;
+            factor += power;
+            double c = alpha * (1 + trendGain * factor) + ((h % period == 0) ? seasonGain : 0.0);
+            multiplier += c * c;
+        }
+    }
+
+    @Override
+    public ExpSmoothingUpdater newUpdater() {
+        return new EtsUpdater(trend, season, alpha, beta, gamma, phi, period);
+    }
+}
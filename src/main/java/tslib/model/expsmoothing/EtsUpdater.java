@@ -0,0 +1,160 @@
+package tslib.model.expsmoothing;
+
+import java.nio.ByteBuffer;
+
+import tslib.util.Snapshottable;
+
+import tslib.model.expsmoothing.EtsModel.Season;
+import tslib.model.expsmoothing.EtsModel.Trend;
+
+/**
+ * Incremental form of {@link EtsModel}. Buffers the observations the initial state is
+ * estimated from, then applies the shared {@link EtsKernel} step once per observation.
+ */
+public class EtsUpdater implements ExpSmoothingUpdater {
+
+    private final Trend trend;
+    private final Season season;
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final double damping;
+    private final int period;
+    private final double[] seasonal;
+    private final double[] warmup;
+
+    private double level;
+    private double b;
+    private long count;
+    private boolean initialized;
+
+    EtsUpdater(Trend trend, Season season, double alpha, double beta, double gamma, double phi, int period) {
+        this.trend = trend;
+        this.season = season;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.damping = EtsKernel.damping(trend, phi);
+        this.period = period;
+        this.seasonal = new double[(season == Season.NONE) ? 0 : period];
+        this.warmup = new double[EtsKernel.minimumLength(trend, season, period)];
+    }
+
+    @Override
+    public void update(double y) {
+        if (initialized) {
+            step(y, count++);
+            return;
+        }
+        warmup[(int) count++] = y;
+        if (count == warmup.length) {
+            initializeFrom(warmup, 0, warmup.length);
+        }
+    }
+
+    @Override
+    public void initialize(double[] history, int offset, int length) {
+        if (history == null || length < warmup.length) {
+            throw new IllegalArgumentException("Data must contain at least " + warmup.length + " points.");
+        }
+        reset();
+        initializeFrom(history, offset, length);
+    }
+
+    private void initializeFrom(double[] history, int offset, int length) {
+        level = EtsKernel.initialLevel(season, period, history, offset);
+        b = EtsKernel.initialTrend(trend, season, period, history, offset);
+        for (int i = 0; i < seasonal.length; i++) {
+            seasonal[i] = EtsKernel.initialSeason(season, history[offset + i], level);
+        }
+        for (int t = (season == Season.NONE) ? 1 : 0; t < length; t++) {
+            step(history[offset + t], t);
+        }
+        count = length;
+        initialized = true;
+    }
+
+    private void step(double y, long t) {
+        int slot = (season == Season.NONE) ? 0 : (int) (t % period);
+        double s = (season == Season.NONE) ? 0.0 : seasonal[slot];
+        double base = level + damping * b;
+
+        double prevLevel = level;
+        level = EtsKernel.nextLevel(season, alpha, y, base, s);
+        b = EtsKernel.nextTrend(trend, gamma, damping, level, prevLevel, b);
+        if (season != Season.NONE) {
+            seasonal[slot] = EtsKernel.nextSeason(season, beta, y, level, s);
+        }
+    }
+
+    @Override
+    public double forecast(int h) {
+        if (h < 1) {
+            throw new IllegalArgumentException("Horizon must be >= 1.");
+        }
+        if (!isReady()) {
+            throw new IllegalStateException("Not enough observations to estimate the initial state.");
+        }
+        double factor = 0.0;
+        double power = 1.0;
+        for (int i = 0; i < h; i++) {
+            power *= damping;
+            factor += power;
+        }
+        double s = (season == Season.NONE) ? 0.0 : seasonal[(int) ((count + h - 1) % period)];
+        return EtsKernel.predict(season, level + factor * b, s);
+    }
+
+    @Override
+    public boolean isReady() {
+        return initialized;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Layout: warmup length, initialized flag, count, level, trend, seasonal ring, warmup buffer.
+     */
+    @Override
+    public int snapshotSize() {
+        return 29 + 8 * (seasonal.length + warmup.length);
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.putInt(warmup.length).put((byte) (initialized ? 1 : 0));
+        out.putLong(count).putDouble(level).putDouble(b);
+        for (double s : seasonal) {
+            out.putDouble(s);
+        }
+        for (double y : warmup) {
+            out.putDouble(y);
+        }
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        Snapshottable.checkMatch(in.getInt(), warmup.length);
+        initialized = in.get() != 0;
+        count = in.getLong();
+        level = in.getDouble();
+        b = in.getDouble();
+        for (int i = 0; i < seasonal.length; i++) {
+            seasonal[i] = in.getDouble();
+        }
+        for (int i = 0; i < warmup.length; i++) {
+            warmup[i] = in.getDouble();
+        }
+    }
+
+    @Override
+    public void reset() {
+        level = 0.0;
+        b = 0.0;
+        count = 0;
+        initialized = false;
+    }
+}
@@ -0,0 +1,267 @@
+package tslib.model.expsmoothing;
+
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.optim.InitialGuess;
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.optim.nonlinear.scalar.ObjectiveFunction;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.NelderMeadSimplex;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.SimplexOptimizer;
+import org.apache.commons.math3.optim.univariate.BrentOptimizer;
+import org.apache.commons.math3.optim.univariate.SearchInterval;
+import org.apache.commons.math3.optim.univariate.UnivariateObjectiveFunction;
+import org.apache.commons.math3.optim.univariate.UnivariatePointValuePair;
+
+import java.util.Objects;
+
+/**
+ * Fits smoothing factors by minimizing the in-sample sum of squared one-step-ahead errors.
+ *
+ * Each candidate is scored by an allocation-free SSE kernel that runs the model's
+ * recurrences without materializing a forecast. Alpha alone is searched with Brent's
+ * method; two or three factors use Nelder-Mead on logit-transformed factors, which
+ * keeps every candidate inside (0, 1) without constraint handling. Parameters that
+ * do not depend on the factors (initial trend and seasonal indices) are computed once
+ * per series.
+ *
+ * Example usage:
+ *   FitResult fit = new ExpSmoothingFitter().fitTriple(data, 0, data.length, 12);
+ *   double[] forecast = fit.getModel().forecast(data, 12);
+ */
+public class ExpSmoothingFitter {
+
+    private static final double MIN_FACTOR = 1e-6;
+
+    private final int maxEvaluations;
+    private final double tolerance;
+
+    public ExpSmoothingFitter() {
+        this(2000, 1e-10);
+    }
+
+    /**
+     * @param maxEvaluations SSE evaluations allowed per fit; the best point seen so far is kept if exhausted
+     * @param tolerance relative convergence tolerance on the SSE
+     */
+    public ExpSmoothingFitter(int maxEvaluations, double tolerance) {
+        if (maxEvaluations <= 0 || tolerance <= 0) {
+            throw new IllegalArgumentException("Max evaluations and tolerance must be positive.");
+        }
+        this.maxEvaluations = maxEvaluations;
+        this.tolerance = tolerance;
+    }
+
+    int maxEvaluations() {
+        return maxEvaluations;
+    }
+
+    public FitResult fitSingle(double[] data) {
+        return fitSingle(data, 0, (data == null) ? 0 : data.length);
+    }
+
+    public FitResult fitSingle(double[] data, int offset, int length) {
+        if (data == null || length < 2) {
+            throw new IllegalArgumentException("Data must contain at least 2 points.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        int[] evaluations = new int[1];
+        UnivariatePointValuePair best = new BrentOptimizer(tolerance, 1e-14).optimize(
+                new MaxEval(maxEvaluations),
+                new UnivariateObjectiveFunction(alpha -> {
+                    evaluations[0]++;
+                    return finite(SingleExpSmoothing.sse(data, offset, length, alpha));
+                }),
+                GoalType.MINIMIZE,
+                new SearchInterval(MIN_FACTOR, 1.0));
+
+        double alpha = best.getPoint();
+        return new FitResult(new SingleExpSmoothing(alpha), new double[]{alpha}, best.getValue(), evaluations[0]);
+    }
+
+    public FitResult fitDouble(double[] data, int initializationMethod) {
+        return fitDouble(data, 0, (data == null) ? 0 : data.length, initializationMethod);
+    }
+
+    public FitResult fitDouble(double[] data, int offset, int length, int initializationMethod) {
+        if (data == null || length < 3) {
+            throw new IllegalArgumentException("Data must contain at least 3 points.");
+        }
+        if (initializationMethod < 0 || initializationMethod > 2) {
+            throw new IllegalArgumentException("Initialization method must be 0, 1, or 2.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        return fitDouble(data, offset, length, initializationMethod, new double[]{0.5, 0.1}, maxEvaluations);
+    }
+
+    /**
+     * Fits from the given starting factors within {@code budget} evaluations; inputs are validated by the caller.
+     */
+    FitResult fitDouble(double[] data, int offset, int length, int initializationMethod, double[] start, int budget) {
+        Search search = minimize(start, budget, x ->
+                DoubleExpSmoothing.sse(data, offset, length, factor(x[0]), factor(x[1]), initializationMethod));
+
+        double alpha = factor(search.point[0]);
+        double gamma = factor(search.point[1]);
+        return new FitResult(new DoubleExpSmoothing(alpha, gamma, initializationMethod),
+                new double[]{alpha, gamma}, search.value, search.evaluations);
+    }
+
+    public FitResult fitTriple(double[] data, int period) {
+        return fitTriple(data, 0, (data == null) ? 0 : data.length, period);
+    }
+
+    public FitResult fitTriple(double[] data, int offset, int length, int period) {
+        if (period <= 1) {
+            throw new IllegalArgumentException("Period must be > 1.");
+        }
+        if (data == null || length < 2 * period) {
+            throw new IllegalArgumentException("Input time series must contain at least two full periods.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        return fitTriple(data, offset, length, SeasonalInit.of(data, offset, length, period),
+                new double[]{0.3, 0.1, 0.1}, maxEvaluations);
+    }
+
+    /**
+     * Fits from precomputed initial values and starting factors within {@code budget}
+     * evaluations; inputs are validated by the caller.
+     */
+    FitResult fitTriple(double[] data, int offset, int length, SeasonalInit init, double[] start, int budget) {
+        int period = init.period;
+        double[] ring = new double[period];
+        Search search = minimize(start, budget, x ->
+                TripleExpSmoothing.sse(data, offset, length, period, factor(x[0]), factor(x[1]), factor(x[2]),
+                        init.trend, init.indices, ring));
+
+        double alpha = factor(search.point[0]);
+        double beta = factor(search.point[1]);
+        double gamma = factor(search.point[2]);
+        return new FitResult(new TripleExpSmoothing(alpha, beta, gamma, period, false),
+                new double[]{alpha, beta, gamma}, search.value, search.evaluations);
+    }
+
+    public FitResult fitEts(double[] data, EtsModel.Trend trend, EtsModel.Season season, int period) {
+        return fitEts(data, 0, (data == null) ? 0 : data.length, trend, season, period);
+    }
+
+    /**
+     * Fits alpha plus whichever of gamma, beta and phi the variant uses. Phi is searched
+     * within [0.8, 0.98], the range where damping is identifiable from typical series.
+     * Parameters are reported in the order alpha, beta, gamma, phi, skipping unused ones.
+     */
+    public FitResult fitEts(double[] data, int offset, int length, EtsModel.Trend trend, EtsModel.Season season,
+                            int period) {
+        // Validates the variant before any data is touched
+        EtsModel shape = new EtsModel(trend, season, 0.5, 0.1, 0.1, 0.9, period);
+        int p = shape.getPeriod();
+        int minimum = Math.max(3, EtsKernel.minimumLength(trend, season, p));
+        if (data == null || length < minimum) {
+            throw new IllegalArgumentException("Data must contain at least " + minimum + " points.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        boolean hasSeason = season != EtsModel.Season.NONE;
+        boolean hasTrend = trend != EtsModel.Trend.NONE;
+        boolean damped = trend == EtsModel.Trend.DAMPED;
+        int dimension = 1 + (hasSeason ? 1 : 0) + (hasTrend ? 1 : 0) + (damped ? 1 : 0);
+        int betaAt = hasSeason ? 1 : -1;
+        int gammaAt = hasTrend ? 1 + (hasSeason ? 1 : 0) : -1;
+        int phiAt = damped ? dimension - 1 : -1;
+
+        double[] start = new double[dimension];
+        start[0] = 0.3;
+        if (betaAt >= 0) start[betaAt] = 0.1;
+        if (gammaAt >= 0) start[gammaAt] = 0.1;
+        if (phiAt >= 0) start[phiAt] = 0.5;
+
+        double[] ring = new double[p];
+        Search search = minimize(start, maxEvaluations, x -> EtsKernel.run(trend, season, p,
+                factor(x[0]),
+                betaAt >= 0 ? factor(x[betaAt]) : 0.0,
+                gammaAt >= 0 ? factor(x[gammaAt]) : 0.0,
+                phiAt >= 0 ? damping(x[phiAt]) : 1.0,
+                data, offset, length, 0, ring, 0, null, 0));
+
+        double[] parameters = new double[dimension];
+        parameters[0] = factor(search.point[0]);
+        if (betaAt >= 0) parameters[betaAt] = factor(search.point[betaAt]);
+        if (gammaAt >= 0) parameters[gammaAt] = factor(search.point[gammaAt]);
+        if (phiAt >= 0) parameters[phiAt] = damping(search.point[phiAt]);
+
+        EtsModel model = new EtsModel(trend, season, parameters[0],
+                betaAt >= 0 ? parameters[betaAt] : 0.0,
+                gammaAt >= 0 ? parameters[gammaAt] : 0.0,
+                phiAt >= 0 ? parameters[phiAt] : 1.0, p);
+        return new FitResult(model, parameters, search.value, search.evaluations);
+    }
+
+    /**
+     * Nelder-Mead over logit-transformed factors. Tracks the best point itself so an
+     * exhausted evaluation budget still yields a usable fit.
+     */
+    private Search minimize(double[] start, int budget, Sse sse) {
+        double[] guess = new double[start.length];
+        for (int i = 0; i < start.length; i++) {
+            double p = Math.min(1 - 1e-4, Math.max(1e-4, start[i]));
+            guess[i] = Math.log(p / (1 - p));
+        }
+
+        Search search = new Search(start.length);
+        try {
+            new SimplexOptimizer(tolerance, 1e-14).optimize(
+                    new MaxEval(budget),
+                    new ObjectiveFunction(x -> search.offer(x, finite(sse.value(x)))),
+                    GoalType.MINIMIZE,
+                    new InitialGuess(guess),
+                    new NelderMeadSimplex(start.length, 1.0));
+        } catch (TooManyEvaluationsException ignored) {
+            // keep the best point seen within the budget
+        }
+        return search;
+    }
+
+    /**
+     * Maps an unbounded search coordinate into (0, 1).
+     */
+    private static double factor(double x) {
+        return Math.max(MIN_FACTOR, 1.0 / (1.0 + Math.exp(-x)));
+    }
+
+    /**
+     * Maps an unbounded search coordinate into [0.8, 0.98].
+     */
+    private static double damping(double x) {
+        return 0.8 + 0.18 / (1.0 + Math.exp(-x));
+    }
+
+    private static double finite(double sse) {
+        return Double.isNaN(sse) ? Double.POSITIVE_INFINITY : sse;
+    }
+
+    @FunctionalInterface
+    private interface Sse {
+        double value(double[] x);
+    }
+
+    private static final class Search {
+        final double[] point;
+        double value = Double.POSITIVE_INFINITY;
+        int evaluations;
+
+        Search(int dimension) {
+            this.point = new double[dimension];
+        }
+
+        double offer(double[] x, double sse) {
+            evaluations++;
+            if (sse < value) {
+                value = sse;
+                System.arraycopy(x, 0, point, 0, point.length);
+            }
+            return sse;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package tslib.model.expsmoothing;
+
+import tslib.util.Snapshottable;
+
+/**
+ * Stateful, incremental form of an {@link ExponentialSmoothing} model.
+ * Holds only the latest smoothing state, so each observation costs O(1)
+ * and memory does not grow with the length of the series. The state can be
+ * checkpointed and restored into an updater of the same model.
+ */
+public interface ExpSmoothingUpdater extends Snapshottable {
+
+    /**
+     * Folds the next observation into the smoothing state.
+     *
+     * @param y the new observation
+     */
+    void update(double y);
+
+    /**
+     * Forecasts {@code h} periods past the last observation.
+     *
+     * @param h forecast horizon, at least 1
+     * @return the point forecast
+     * @throws IllegalStateException if not enough observations have been seen yet
+     */
+    double forecast(int h);
+
+    /**
+     * @return true once enough observations have been seen to forecast
+     */
+    boolean isReady();
+
+    /**
+     * @return number of observations folded in since the last reset
+     */
+    long count();
+
+    /**
+     * Clears all state.
+     */
+    void reset();
+
+    /**
+     * Resets and initializes the state from a block of history, producing the
+     * same state the batch model reaches at the end of that series.
+     *
+     * @param history the time series input
+     * @param offset index of the first observation in {@code history}
+     * @param length number of observations
+     */
+    default void initialize(double[] history, int offset, int length) {
+        reset();
+        for (int i = 0; i < length; i++) {
+            update(history[offset + i]);
+        }
+    }
+}
@@ -1,14 +1,145 @@
 package tslib.model.expsmoothing;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import tslib.util.SeriesPanel;
+
 public interface ExponentialSmoothing {
     /**
      * Forecasts values based on time series data.
+     * Thin adapter over the primitive {@code double[]} overloads.
      *
      * @param data the time series input
      * @param steps number of future periods to forecast
      * @return list of forecasted values (original data + forecast)
      */
-    List<Double> forecast(List<Double> data, int steps);
+    default List<Double> forecast(List<Double> data, int steps) {
+        double[] y = (data == null) ? null : toArray(data);
+        double[] out = new double[((y == null) ? 0 : y.length) + Math.max(steps, 0)];
+        forecast(y, 0, (y == null) ? 0 : y.length, steps, out, 0);
+
+        List<Double> result = new ArrayList<>(out.length);
+        for (double v : out) {
+            result.add(v);
+        }
+        return result;
+    }
+
+    /**
+     * Forecasts values based on time series data, allocating the output array.
+     *
+     * @param data the time series input
+     * @param steps number of future periods to forecast
+     * @return array of length {@code data.length + steps} (original data + forecast)
+     */
+    default double[] forecast(double[] data, int steps) {
+        double[] out = new double[((data == null) ? 0 : data.length) + Math.max(steps, 0)];
+        forecast(data, 0, (data == null) ? 0 : data.length, steps, out, 0);
+        return out;
+    }
+
+    /**
+     * Forecasts values based on time series data into a caller-supplied array.
+     *
+     * @param data the time series input
+     * @param steps number of future periods to forecast
+     * @param out receives {@code data.length + steps} values starting at index 0
+     */
+    default void forecast(double[] data, int steps, double[] out) {
+        forecast(data, 0, (data == null) ? 0 : data.length, steps, out, 0);
+    }
+
+    /**
+     * Forecasts values for the series stored in {@code data[offset, offset + length)}
+     * and writes {@code length + steps} values to {@code out} starting at {@code outOffset}.
+     * Implementations do not allocate, so the same arrays can be reused across series.
+     *
+     * @param data the time series input
+     * @param offset index of the first observation in {@code data}
+     * @param length number of observations
+     * @param steps number of future periods to forecast
+     * @param out destination array (fitted values + forecast)
+     * @param outOffset index of the first output value in {@code out}
+     */
+    void forecast(double[] data, int offset, int length, int steps, double[] out, int outOffset);
+
+    /**
+     * Forecasts into a reusable {@link ForecastResult}, keeping the one-step fitted values,
+     * residuals, forecasts and final state apart. Nothing is allocated once the result has
+     * grown to the series size.
+     *
+     * @param data the time series input
+     * @param offset index of the first observation in {@code data}
+     * @param length number of observations
+     * @param steps number of future periods to forecast
+     * @param result overwritten with the outcome for this series
+     */
+    void forecast(double[] data, int offset, int length, int steps, ForecastResult result);
+
+    /**
+     * Forecasts {@code out.steps()} periods with normal prediction intervals. The variance
+     * of the one-step-ahead errors is accumulated while smoothing the history, so no
+     * second pass over the data is made.
+     *
+     * @param data the time series input
+     * @param offset index of the first observation in {@code data}
+     * @param length number of observations
+     * @param out receives the point forecasts and interval bounds
+     */
+    void forecastIntervals(double[] data, int offset, int length, PredictionIntervals out);
+
+    /**
+     * Forecasts with prediction intervals, allocating the result.
+     *
+     * @param data the time series input
+     * @param steps number of future periods to forecast
+     * @param level coverage probability of the intervals, e.g. 0.95
+     * @return point forecasts with lower and upper bounds
+     */
+    default PredictionIntervals forecastIntervals(double[] data, int steps, double level) {
+        PredictionIntervals out = new PredictionIntervals(steps, level);
+        forecastIntervals(data, 0, (data == null) ? 0 : data.length, out);
+        return out;
+    }
+
+    /**
+     * Forecasts every series of a panel. Row {@code t} of {@code out} receives the
+     * values the single-series overloads would write at index {@code t}.
+     * The default runs one series at a time; the built-in models advance all
+     * series in lockstep instead.
+     *
+     * @param data the panel of input series
+     * @param steps number of future periods to forecast
+     * @param out destination panel with the same series count and at least
+     *            {@code data.length() + steps} rows
+     */
+    default void forecast(SeriesPanel data, int steps, SeriesPanel out) {
+        Bounds.check(data, steps, out);
+        int n = data.length();
+        double[] series = new double[n];
+        double[] result = new double[n + steps];
+        for (int s = 0; s < data.seriesCount(); s++) {
+            data.copySeries(s, series, 0);
+            forecast(series, 0, n, steps, result, 0);
+            for (int t = 0; t < result.length; t++) {
+                out.set(t, s, result[t]);
+            }
+        }
+    }
+
+    /**
+     * Creates an incremental form of this model with the same parameters.
+     *
+     * @return a fresh updater holding no observations
+     */
+    ExpSmoothingUpdater newUpdater();
+
+    private static double[] toArray(List<Double> data) {
+        double[] y = new double[data.size()];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = data.get(i);
+        }
+        return y;
+    }
 }
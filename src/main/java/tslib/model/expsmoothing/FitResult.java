@@ -0,0 +1,48 @@
+package tslib.model.expsmoothing;
+
+/**
+ * Outcome of fitting smoothing factors with {@link ExpSmoothingFitter}.
+ */
+public final class FitResult {
+
+    private final ExponentialSmoothing model;
+    private final double[] parameters;
+    private final double sse;
+    private final int evaluations;
+
+    FitResult(ExponentialSmoothing model, double[] parameters, double sse, int evaluations) {
+        this.model = model;
+        this.parameters = parameters;
+        this.sse = sse;
+        this.evaluations = evaluations;
+    }
+
+    /**
+     * @return the model constructed with the fitted smoothing factors
+     */
+    public ExponentialSmoothing getModel() {
+        return model;
+    }
+
+    /**
+     * @return fitted factors in constructor order: {alpha}, {alpha, gamma} or {alpha, beta, gamma};
+     *         for {@link EtsModel} alpha, beta, gamma, phi without the unused ones
+     */
+    public double[] getParameters() {
+        return parameters.clone();
+    }
+
+    /**
+     * @return in-sample sum of squared one-step-ahead errors at the fitted factors
+     */
+    public double getSse() {
+        return sse;
+    }
+
+    /**
+     * @return number of SSE evaluations the optimizer used
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+}
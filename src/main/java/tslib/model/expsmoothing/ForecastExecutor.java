@@ -0,0 +1,191 @@
+package tslib.model.expsmoothing;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import tslib.util.SeriesPanel;
+
+/**
+ * Forecasts many series in parallel.
+ *
+ * Series are split into blocks of at most {@code blockSize}. On a {@link ForkJoinPool}
+ * the range is split recursively so idle workers steal halves from busy ones; any other
+ * {@link Executor} receives one task per block. Each block writes only its own series,
+ * so results land in input order regardless of scheduling, and a block never holds more
+ * than {@code blockSize * (length + steps)} doubles of scratch space.
+ *
+ * Example usage:
+ *   ForecastExecutor executor = new ForecastExecutor();
+ *   executor.forecast(new SingleExpSmoothing(0.3), panel, 12, out);
+ */
+public class ForecastExecutor {
+
+    /**
+     * Default number of series per block: small enough to balance load,
+     * large enough for the lockstep panel kernels to pay off.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    private final Executor executor;
+    private final int blockSize;
+
+    /**
+     * Uses the common fork/join pool.
+     */
+    public ForecastExecutor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param executor runs the blocks; a {@link ForkJoinPool} enables work-stealing
+     * @param blockSize maximum number of series handled by one task
+     */
+    public ForecastExecutor(Executor executor, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be a positive integer!");
+        }
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Forecasts every series of a panel. Equivalent to
+     * {@link ExponentialSmoothing#forecast(SeriesPanel, int, SeriesPanel)}.
+     *
+     * @param model the smoothing model, shared by all workers
+     * @param data the panel of input series
+     * @param steps number of future periods to forecast
+     * @param out destination panel with the same series count and at least
+     *            {@code data.length() + steps} rows
+     */
+    public void forecast(ExponentialSmoothing model, SeriesPanel data, int steps, SeriesPanel out) {
+        Objects.requireNonNull(model, "model");
+        Bounds.check(data, steps, out);
+        run(data.seriesCount(), (from, to) -> forecastBlock(model, data, steps, out, from, to));
+    }
+
+    /**
+     * Forecasts series of arbitrary lengths. {@code out[i]} receives the result
+     * for {@code series[i]}, exactly as {@link ExponentialSmoothing#forecast(double[], int, double[])}.
+     *
+     * @param model the smoothing model, shared by all workers
+     * @param series the input series
+     * @param steps number of future periods to forecast
+     * @param out destination arrays, {@code out[i]} at least {@code series[i].length + steps} long
+     */
+    public void forecast(ExponentialSmoothing model, double[][] series, int steps, double[][] out) {
+        Objects.requireNonNull(model, "model");
+        if (series == null || out == null || out.length != series.length) {
+            throw new IllegalArgumentException("Output must hold one array per input series.");
+        }
+        run(series.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                model.forecast(series[i], steps, out[i]);
+            }
+        });
+    }
+
+    /**
+     * Forecasts series of arbitrary lengths into newly allocated arrays.
+     *
+     * @return one array of {@code series[i].length + steps} values per input series
+     */
+    public double[][] forecast(ExponentialSmoothing model, double[][] series, int steps) {
+        if (series == null) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        if (steps < 0) {
+            throw new IllegalArgumentException("Steps must be >= 0.");
+        }
+        double[][] out = new double[series.length][];
+        for (int i = 0; i < series.length; i++) {
+            out[i] = new double[((series[i] == null) ? 0 : series[i].length) + steps];
+        }
+        forecast(model, series, steps, out);
+        return out;
+    }
+
+    private static void forecastBlock(ExponentialSmoothing model, SeriesPanel data, int steps, SeriesPanel out,
+                                      int from, int to) {
+        int width = to - from;
+        int n = data.length();
+        SeriesPanel block = new SeriesPanel(width, n);
+        SeriesPanel result = new SeriesPanel(width, n + steps);
+
+        double[] src = data.values();
+        double[] dst = block.values();
+        for (int t = 0; t < n; t++) {
+            System.arraycopy(src, data.index(t, from), dst, t * width, width);
+        }
+
+        model.forecast(block, steps, result);
+
+        double[] res = result.values();
+        double[] target = out.values();
+        for (int t = 0; t < n + steps; t++) {
+            System.arraycopy(res, t * width, target, out.index(t, from), width);
+        }
+    }
+
+    private void run(int count, Block block) {
+        if (count == 0) {
+            return;
+        }
+        if (executor instanceof ForkJoinPool pool) {
+            pool.invoke(new BlockTask(block, 0, count, blockSize));
+            return;
+        }
+
+        int blocks = (count + blockSize - 1) / blockSize;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int from = b * blockSize;
+            int to = Math.min(count, from + blockSize);
+            futures[b] = CompletableFuture.runAsync(() -> block.run(from, to), executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Block {
+        void run(int from, int to);
+    }
+
+    private static final class BlockTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Block block;
+        private final int from;
+        private final int to;
+        private final int blockSize;
+
+        BlockTask(Block block, int from, int to, int blockSize) {
+            this.block = block;
+            this.from = from;
+            this.to = to;
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= blockSize) {
+                block.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BlockTask(block, from, mid, blockSize), new BlockTask(block, mid, to, blockSize));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package tslib.model.expsmoothing;
+
+/**
+ * Fitted values, residuals, forecasts and final state of one series, kept in primitive arrays.
+ *
+ * The arrays grow on demand and are never shrunk, so a worker can recycle one instance
+ * across many series: every call to
+ * {@link ExponentialSmoothing#forecast(double[], int, int, int, ForecastResult)} overwrites
+ * the previous contents, and {@link #reset()} empties the result without releasing memory.
+ * Accessors return the backing arrays; only the first {@link #length()}, {@link #steps()}
+ * or {@link #stateSize()} entries are meaningful.
+ *
+ * Forecasts are projected from the final state. For {@link SingleExpSmoothing},
+ * {@link DoubleExpSmoothing} and {@link EtsModel} they equal the tail of
+ * {@link ExponentialSmoothing#forecast(double[], int)}. {@link TripleExpSmoothing} differs:
+ * in its combined output the value h steps past the end is the {@code steps}-ahead forecast
+ * made at observation {@code n - 1 - steps + h}, so only the last value (for {@code steps}
+ * up to one period) matches. Its result holds {@code (S + h B) I} from the final state,
+ * as {@link TripleExpSmoothingUpdater#forecast(int)} gives.
+ *
+ * Example usage:
+ *   ForecastResult result = new ForecastResult();
+ *   for (double[] series : panel) {
+ *       model.forecast(series, 0, series.length, 12, result);
+ *       consume(result.forecast(), result.steps());
+ *   }
+ */
+public final class ForecastResult {
+
+    private static final double[] EMPTY = new double[0];
+
+    private double[] fitted = EMPTY;
+    private double[] residuals = EMPTY;
+    private double[] forecast = EMPTY;
+    private double[] state = EMPTY;
+    private int length;
+    private int steps;
+    private int stateSize;
+
+    public ForecastResult() {
+    }
+
+    /**
+     * Preallocates room for series of up to {@code length} observations and {@code steps} forecasts.
+     */
+    public ForecastResult(int length, int steps) {
+        if (length < 0 || steps < 0) {
+            throw new IllegalArgumentException("Length and steps must be >= 0.");
+        }
+        prepare(length, steps, 0);
+        reset();
+    }
+
+    /**
+     * @return number of observations of the last series
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return number of forecasts
+     */
+    public int steps() {
+        return steps;
+    }
+
+    /**
+     * @return number of final state values
+     */
+    public int stateSize() {
+        return stateSize;
+    }
+
+    /**
+     * @return one-step-ahead forecast of each observation from the data before it;
+     *         {@code NaN} for observations that only initialize the model
+     */
+    public double[] fitted() {
+        return fitted;
+    }
+
+    /**
+     * @return observation minus fitted value; {@code NaN} where the fitted value is
+     */
+    public double[] residuals() {
+        return residuals;
+    }
+
+    /**
+     * @return forecasts; {@code forecast()[h - 1]} is the forecast h steps ahead
+     */
+    public double[] forecast() {
+        return forecast;
+    }
+
+    /**
+     * @return final state after the last observation, laid out as documented by the model
+     */
+    public double[] state() {
+        return state;
+    }
+
+    /**
+     * Empties the result, keeping the allocated arrays for the next series.
+     */
+    public void reset() {
+        length = 0;
+        steps = 0;
+        stateSize = 0;
+    }
+
+    void prepare(int length, int steps, int stateSize) {
+        if (fitted.length < length) {
+            fitted = new double[length];
+            residuals = new double[length];
+        }
+        if (forecast.length < steps) {
+            forecast = new double[steps];
+        }
+        if (state.length < stateSize) {
+            state = new double[stateSize];
+        }
+        this.length = length;
+        this.steps = steps;
+        this.stateSize = stateSize;
+    }
+
+    void fit(int i, double y, double fittedValue) {
+        fitted[i] = fittedValue;
+        residuals[i] = y - fittedValue;
+    }
+
+    void unfitted(int i) {
+        fitted[i] = Double.NaN;
+        residuals[i] = Double.NaN;
+    }
+}
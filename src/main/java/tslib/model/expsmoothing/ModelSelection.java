@@ -0,0 +1,54 @@
+package tslib.model.expsmoothing;
+
+/**
+ * Outcome of {@link AutoExpSmoothing#select}: the winning fit and how many candidates were tried.
+ */
+public final class ModelSelection {
+
+    private final FitResult fit;
+    private final double aicc;
+    private final int candidates;
+    private final int pruned;
+
+    ModelSelection(FitResult fit, double aicc, int candidates, int pruned) {
+        this.fit = fit;
+        this.aicc = aicc;
+        this.candidates = candidates;
+        this.pruned = pruned;
+    }
+
+    /**
+     * @return the selected model with its fitted smoothing factors
+     */
+    public ExponentialSmoothing getModel() {
+        return fit.getModel();
+    }
+
+    /**
+     * @return the fit of the selected model
+     */
+    public FitResult getFit() {
+        return fit;
+    }
+
+    /**
+     * @return corrected Akaike information criterion of the selected model
+     */
+    public double getAicc() {
+        return aicc;
+    }
+
+    /**
+     * @return number of candidate models considered
+     */
+    public int getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * @return number of candidates dropped after the coarse fit
+     */
+    public int getPruned() {
+        return pruned;
+    }
+}
@@ -0,0 +1,141 @@
+package tslib.model.expsmoothing;
+
+/**
+ * Inner loops of the lockstep panel forecasts, advancing every series of a
+ * {@link tslib.util.SeriesPanel} by one row at a time.
+ *
+ * This class is the scalar backend. When the {@code jdk.incubator.vector} module
+ * is available (run with {@code --add-modules jdk.incubator.vector}),
+ * {@link #INSTANCE} is a {@link VectorPanelKernel} that evaluates the same
+ * arithmetic across SIMD lanes and produces bit-identical results.
+ * Set {@code -Dtslib.vector=false} to force the scalar backend.
+ */
+class PanelKernel {
+
+    static final PanelKernel INSTANCE = select();
+
+    private static PanelKernel select() {
+        if (!"false".equalsIgnoreCase(System.getProperty("tslib.vector"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                PanelKernel kernel = (PanelKernel) Class.forName("tslib.model.expsmoothing.VectorPanelKernel")
+                        .getDeclaredConstructor().newInstance();
+                if (kernel.lanes() > 1) {
+                    return kernel;
+                }
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+                // fall back to the scalar loops
+            }
+        }
+        return new PanelKernel();
+    }
+
+    /**
+     * @return number of series processed per instruction
+     */
+    int lanes() {
+        return 1;
+    }
+
+    /**
+     * Single smoothing for rows {@code [1, n)}; row 0 of {@code result} holds the first observations.
+     */
+    void single(double[] y, double[] result, int width, int n, double alpha) {
+        for (int row = width; row < n * width; row += width) {
+            for (int s = 0; s < width; s++) {
+                result[row + s] = alpha * y[row + s] + (1 - alpha) * result[row - width + s];
+            }
+        }
+    }
+
+    /**
+     * Holt's recurrences for rows {@code [1, n)}, starting from the given level and trend.
+     */
+    void holt(double[] y, double[] result, double[] level, double[] trend, int width, int n,
+              double alpha, double gamma) {
+        for (int row = width; row < n * width; row += width) {
+            holtRow(y, result, level, trend, row, 0, width, alpha, gamma);
+        }
+    }
+
+    static void holtRow(double[] y, double[] result, double[] level, double[] trend, int row, int from, int to,
+                        double alpha, double gamma) {
+        for (int s = from; s < to; s++) {
+            double prevS = level[s];
+            double b = trend[s];
+            double st = alpha * y[row + s] + (1 - alpha) * (prevS + b);
+            b = gamma * (st - prevS) + (1 - gamma) * b;
+            level[s] = st;
+            trend[s] = b;
+            result[row + s] = st + b;
+        }
+    }
+
+    /**
+     * Multiplicative Holt-Winters recurrences for rows {@code [2, n)}, emitting the
+     * {@code m}-step forecasts exactly as {@link TripleExpSmoothing} does for one series.
+     * {@code seasonal} is the slot-major ring of initial indices.
+     */
+    void holtWinters(double[] y, double[] result, double[] level, double[] trend, double[] seasonal,
+                     int width, int n, int period, int m, double alpha, double beta, double gamma) {
+        for (int i = 2; i < n; i++) {
+            HoltWintersRow row = new HoltWintersRow(i, width, n, period, m);
+            row.run(y, result, level, trend, seasonal, 0, width, alpha, beta, gamma);
+        }
+    }
+
+    /**
+     * Loop-invariant choices for one time step of the Holt-Winters recursion.
+     * They depend only on the time index, so the loop over series is branch-free.
+     */
+    static final class HoltWintersRow {
+        final int row;
+        final int slot;
+        final boolean seasonalStep;
+        final boolean emit;
+        // Same choice as TripleExpSmoothing.seasonalIndex(): the previous index, 1.0, or the ring
+        final boolean previous;
+        final boolean unseen;
+        final int sourceSlot;
+        final int outRow;
+        final int m;
+
+        HoltWintersRow(int i, int width, int n, int period, int m) {
+            int j = i - period + m;
+            this.row = i * width;
+            this.slot = (i % period) * width;
+            this.seasonalStep = i - period >= 0;
+            this.emit = j >= 0 && j < n;
+            this.previous = j == i - period;
+            this.unseen = j > i && j >= period;
+            this.sourceSlot = emit ? (j % period) * width : 0;
+            this.outRow = (i + m) * width;
+            this.m = m;
+        }
+
+        void run(double[] y, double[] result, double[] level, double[] trend, double[] seasonal,
+                 int from, int to, double alpha, double beta, double gamma) {
+            for (int s = from; s < to; s++) {
+                double yi = y[row + s];
+                double prevS = level[s];
+                double prevI = seasonal[slot + s];
+                double b = trend[s];
+
+                double st = seasonalStep
+                        ? alpha * yi / prevI + (1 - alpha) * (prevS + b)
+                        : alpha * yi + (1 - alpha) * (prevS + b);
+                b = gamma * (st - prevS) + (1 - gamma) * b;
+                level[s] = st;
+                trend[s] = b;
+
+                if (seasonalStep) {
+                    seasonal[slot + s] = beta * yi / st + (1 - beta) * prevI;
+                }
+                if (emit) {
+                    double index = previous ? prevI : (unseen ? 1.0 : seasonal[sourceSlot + s]);
+                    result[outRow + s] = (st + m * b) * index;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package tslib.model.expsmoothing;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+/**
+ * Point forecasts with symmetric normal prediction intervals for a fixed horizon.
+ *
+ * The arrays are owned by this object and overwritten by every
+ * {@link ExponentialSmoothing#forecastIntervals(double[], int, int, PredictionIntervals)}
+ * call, so one instance can be reused across series. The normal quantile for the
+ * coverage level is computed once, on construction.
+ *
+ * Example usage:
+ *   PredictionIntervals intervals = new PredictionIntervals(12, 0.95);
+ *   model.forecastIntervals(data, 0, data.length, intervals);
+ *   double upper = intervals.upper()[0];
+ */
+public final class PredictionIntervals {
+
+    private final double[] point;
+    private final double[] lower;
+    private final double[] upper;
+    private final double level;
+    private final double z;
+    private double sigma;
+    private double[] scratch = new double[0];
+
+    /**
+     * @param steps number of future periods to forecast
+     * @param level coverage probability of the intervals, in (0, 1)
+     */
+    public PredictionIntervals(int steps, double level) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Steps must be >= 0.");
+        }
+        if (!(level > 0 && level < 1)) {
+            throw new IllegalArgumentException("Level must be in (0, 1).");
+        }
+        this.point = new double[steps];
+        this.lower = new double[steps];
+        this.upper = new double[steps];
+        this.level = level;
+        this.z = new NormalDistribution().inverseCumulativeProbability(0.5 + level / 2);
+    }
+
+    public int steps() {
+        return point.length;
+    }
+
+    public double level() {
+        return level;
+    }
+
+    /**
+     * @return point forecasts; {@code point()[h - 1]} is the forecast h steps ahead
+     */
+    public double[] point() {
+        return point;
+    }
+
+    public double[] lower() {
+        return lower;
+    }
+
+    public double[] upper() {
+        return upper;
+    }
+
+    /**
+     * @return standard deviation of the one-step-ahead errors of the last fitted series
+     */
+    public double sigma() {
+        return sigma;
+    }
+
+    /**
+     * Stores the error variance and the point forecast h steps ahead, scaled by the
+     * model's variance multiplier for that horizon.
+     */
+    void set(int h, double forecast, double varianceMultiplier) {
+        double halfWidth = z * sigma * Math.sqrt(varianceMultiplier);
+        point[h - 1] = forecast;
+        lower[h - 1] = forecast - halfWidth;
+        upper[h - 1] = forecast + halfWidth;
+    }
+
+    void sigma(double sse, int errors) {
+        sigma = (errors > 0) ? Math.sqrt(sse / errors) : 0.0;
+    }
+
+    /**
+     * @return scratch space of at least {@code size} doubles, kept across calls
+     */
+    double[] scratch(int size) {
+        if (scratch.length < size) {
+            scratch = new double[size];
+        }
+        return scratch;
+    }
+}
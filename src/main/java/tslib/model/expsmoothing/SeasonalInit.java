@@ -0,0 +1,25 @@
+package tslib.model.expsmoothing;
+
+/**
+ * Initial trend and seasonal indices of {@link TripleExpSmoothing} for one series and period.
+ * They do not depend on the smoothing factors, so one instance is computed per series and
+ * shared by every fit that uses the period.
+ */
+final class SeasonalInit {
+
+    final int period;
+    final double trend;
+    final double[] indices;
+
+    private SeasonalInit(int period, double trend, double[] indices) {
+        this.period = period;
+        this.trend = trend;
+        this.indices = indices;
+    }
+
+    static SeasonalInit of(double[] data, int offset, int length, int period) {
+        double[] indices = new double[period];
+        TripleExpSmoothing.calculateSeasonalIndices(data, offset, period, length / period, indices, 0);
+        return new SeasonalInit(period, TripleExpSmoothing.calculateInitialTrend(data, offset, period), indices);
+    }
+}
@@ -1,7 +1,8 @@
 package tslib.model.expsmoothing;
 
-import java.util.ArrayList;
-import java.util.List;
+import tslib.util.SeriesPanel;
+
+import java.util.Arrays;
 
 /**
  * Single Exponential Smoothing implementation.
@@ -18,29 +19,127 @@ public class SingleExpSmoothing implements ExponentialSmoothing {
     }
 
     @Override
-    public List<Double> forecast(List<Double> data, int steps) {
-        if (data == null || data.isEmpty()) {
+    public ExpSmoothingUpdater newUpdater() {
+        return new SingleExpSmoothingUpdater(alpha);
+    }
+
+    @Override
+    public void forecast(double[] data, int offset, int length, int steps, double[] out, int outOffset) {
+        if (data == null || length == 0) {
             throw new IllegalArgumentException("Input data must not be null or empty.");
         }
-
-        int n = data.size();
-        List<Double> result = new ArrayList<>(n + steps);
+        Bounds.check(data, offset, length, steps, out, outOffset);
 
         // Initialize first smoothed value
-        double smoothed = data.get(0);
-        result.add(smoothed);
+        double smoothed = data[offset];
+        out[outOffset] = smoothed;
 
         // Apply smoothing to historical data
-        for (int i = 1; i < n; i++) {
-            smoothed = alpha * data.get(i) + (1 - alpha) * smoothed;
-            result.add(smoothed);
+        for (int i = 1; i < length; i++) {
+            smoothed = alpha * data[offset + i] + (1 - alpha) * smoothed;
+            out[outOffset + i] = smoothed;
         }
 
         // Forecast future values using last smoothed value
         for (int i = 0; i < steps; i++) {
-            result.add(smoothed);
+            out[outOffset + length + i] = smoothed;
+        }
+    }
+
+    /**
+     * The state is {level}; the first observation only initializes it.
+     */
+    @Override
+    public void forecast(double[] data, int offset, int length, int steps, ForecastResult result) {
+        if (data == null || length == 0) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        Bounds.check(data, offset, length, steps, result);
+        result.prepare(length, steps, 1);
+
+        double smoothed = data[offset];
+        result.unfitted(0);
+        for (int i = 1; i < length; i++) {
+            double y = data[offset + i];
+            result.fit(i, y, smoothed);
+            smoothed = alpha * y + (1 - alpha) * smoothed;
+        }
+
+        Arrays.fill(result.forecast(), 0, steps, smoothed);
+        result.state()[0] = smoothed;
+    }
+
+    /**
+     * The h-step forecast error variance is sigma^2 (1 + (h - 1) alpha^2).
+     */
+    @Override
+    public void forecastIntervals(double[] data, int offset, int length, PredictionIntervals out) {
+        if (data == null || length == 0) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        Bounds.check(data, offset, length, out);
+
+        double smoothed = data[offset];
+        double sse = 0.0;
+        for (int i = 1; i < length; i++) {
+            double y = data[offset + i];
+            double error = y - smoothed;
+            sse += error * error;
+            smoothed = alpha * y + (1 - alpha) * smoothed;
+        }
+
+        out.sigma(sse, length - 1);
+        for (int h = 1; h <= out.steps(); h++) {
+            out.set(h, smoothed, 1 + (h - 1) * alpha * alpha);
+        }
+    }
+
+    /**
+     * Smooths all series of the panel in lockstep, one row at a time.
+     */
+    @Override
+    public void forecast(SeriesPanel data, int steps, SeriesPanel out) {
+        Bounds.check(data, steps, out);
+        if (data.length() == 0) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+
+        int width = data.seriesCount();
+        int n = data.length();
+        double[] y = data.values();
+        double[] result = out.values();
+
+        System.arraycopy(y, 0, result, 0, width);
+        PanelKernel.INSTANCE.single(y, result, width, n, alpha);
+
+        int last = (n - 1) * width;
+        for (int i = 0; i < steps; i++) {
+            System.arraycopy(result, last, result, (n + i) * width, width);
         }
+    }
+
+    /**
+     * Sum of squared one-step-ahead errors: each observation against the level
+     * smoothed up to the previous one. Allocation-free, used when fitting alpha.
+     */
+    static double sse(double[] data, int offset, int length, double alpha) {
+        return sse(data, offset, length, alpha, 1);
+    }
 
-        return result;
+    /**
+     * As {@link #sse(double[], int, int, double)}, scoring only the observations from {@code from} on.
+     */
+    static double sse(double[] data, int offset, int length, double alpha, int from) {
+        double smoothed = data[offset];
+        double sse = 0.0;
+        for (int i = 1; i < length; i++) {
+            double y = data[offset + i];
+            if (i >= from) {
+                double error = y - smoothed;
+                sse += error * error;
+            }
+            smoothed = alpha * y + (1 - alpha) * smoothed;
+        }
+        return sse;
     }
 }
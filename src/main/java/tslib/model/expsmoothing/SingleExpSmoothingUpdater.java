@@ -0,0 +1,74 @@
+package tslib.model.expsmoothing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental Single Exponential Smoothing.
+ * Produces the same levels as {@link SingleExpSmoothing}, one observation at a time.
+ */
+public class SingleExpSmoothingUpdater implements ExpSmoothingUpdater {
+
+    private final double alpha;
+    private double level;
+    private long count;
+
+    public SingleExpSmoothingUpdater(double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+    }
+
+    @Override
+    public void update(double y) {
+        if (count == 0) {
+            level = y;
+        } else {
+            level = alpha * y + (1 - alpha) * level;
+        }
+        count++;
+    }
+
+    @Override
+    public double forecast(int h) {
+        if (h < 1) {
+            throw new IllegalArgumentException("Horizon must be >= 1.");
+        }
+        if (!isReady()) {
+            throw new IllegalStateException("No observations seen yet.");
+        }
+        return level;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count > 0;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public int snapshotSize() {
+        return 16;
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.putLong(count).putDouble(level);
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        count = in.getLong();
+        level = in.getDouble();
+    }
+
+    @Override
+    public void reset() {
+        level = 0.0;
+        count = 0;
+    }
+}
@@ -1,7 +1,8 @@
 package tslib.model.expsmoothing;
 
-import java.util.ArrayList;
-import java.util.List;
+import tslib.util.SeriesPanel;
+
+import java.util.Arrays;
 
 /**
  * Triple Exponential Smoothing (Holt-Winters Multiplicative Method).
@@ -29,94 +30,366 @@ public class TripleExpSmoothing implements ExponentialSmoothing {
     }
 
     @Override
-    public List<Double> forecast(List<Double> y, int m) {
-        if (y == null || y.isEmpty()) {
+    public ExpSmoothingUpdater newUpdater() {
+        return new TripleExpSmoothingUpdater(alpha, beta, gamma, period);
+    }
+
+    /**
+     * Runs the multiplicative Holt-Winters recurrences without allocating.
+     * The seasonal indices only ever look back one period, so they live in a ring
+     * held in {@code out[outOffset, outOffset + period)}: that prefix of the result
+     * never receives a forecast and is zeroed once the pass completes.
+     */
+    @Override
+    public void forecast(double[] y, int offset, int n, int m, double[] out, int outOffset) {
+        if (y == null || n == 0) {
             throw new IllegalArgumentException("Input time series must not be null or empty.");
         }
+        if (n < 2 * period) {
+            throw new IllegalArgumentException("Input time series must contain at least two full periods.");
+        }
+        Bounds.check(y, offset, n, m, out, outOffset);
 
-        int n = y.size();
         int seasons = n / period;
-        double a0 = y.get(0);
-        double b0 = calculateInitialTrend(y, period);
-        List<Double> seasonal = calculateSeasonalIndices(y, period, seasons);
-
-        List<Double> St = new ArrayList<>(n);
-        List<Double> Bt = new ArrayList<>(n);
-        List<Double> It = new ArrayList<>(n);
-        List<Double> Ft = new ArrayList<>(n + m);
+        double a0 = y[offset];
+        double b0 = calculateInitialTrend(y, offset, period);
 
-        for (int i = 0; i < n + m; i++) Ft.add(0.0);
-        for (int i = 0; i < n; i++) {
-            St.add(0.0);
-            Bt.add(0.0);
-            It.add(i < period ? seasonal.get(i) : 1.0);
-        }
+        Arrays.fill(out, outOffset + period, outOffset + n + m, 0.0);
+        calculateSeasonalIndices(y, offset, period, seasons, out, outOffset);
 
-        St.set(1, a0);
-        Bt.set(1, b0);
+        double st = a0;
+        double bt = b0;
 
         for (int i = 2; i < n; i++) {
+            double yi = y[offset + i];
+            double prevS = st;
+            int slot = outOffset + i % period;
+            // It(i - period) while i >= period, the initial index or 1.0 otherwise
+            double prevI = out[slot];
+
             if (i - period >= 0) {
-                St.set(i, alpha * y.get(i) / It.get(i - period) + (1 - alpha) * (St.get(i - 1) + Bt.get(i - 1)));
+                st = alpha * yi / prevI + (1 - alpha) * (prevS + bt);
             } else {
-                St.set(i, alpha * y.get(i) + (1 - alpha) * (St.get(i - 1) + Bt.get(i - 1)));
+                st = alpha * yi + (1 - alpha) * (prevS + bt);
             }
 
-            Bt.set(i, gamma * (St.get(i) - St.get(i - 1)) + (1 - gamma) * Bt.get(i - 1));
+            bt = gamma * (st - prevS) + (1 - gamma) * bt;
 
             if (i - period >= 0) {
-                It.set(i, beta * y.get(i) / St.get(i) + (1 - beta) * It.get(i - period));
+                out[slot] = beta * yi / st + (1 - beta) * prevI;
             }
 
-            if (i + m < Ft.size() && (i - period + m) >= 0 && (i - period + m) < It.size()) {
-                Ft.set(i + m, (St.get(i) + m * Bt.get(i)) * It.get(i - period + m));
+            int j = i - period + m;
+            if (j >= 0 && j < n) {
+                out[outOffset + i + m] = (st + m * bt) * seasonalIndex(out, outOffset, i, j, prevI);
             }
 
             if (debug) {
                 System.out.printf("i = %d, y = %.2f, S = %.4f, Bt = %.4f, It = %.4f, F = %.4f%n",
-                        i, y.get(i), St.get(i), Bt.get(i), It.get(i),
-                        (i + m < Ft.size()) ? Ft.get(i + m) : 0.0);
+                        i, yi, st, bt, out[slot], out[outOffset + i + m]);
+            }
+        }
+
+        Arrays.fill(out, outOffset, outOffset + period, 0.0);
+    }
+
+    /**
+     * Forecasts are (S + h B) I from the final state, as {@link TripleExpSmoothingUpdater#forecast(int)}.
+     * The state is {level, trend} followed by the seasonal indices of the next {@code period}
+     * steps, the one for one step ahead first. Observations before {@code max(3, period)} are
+     * not fitted, matching the errors {@link ExpSmoothingFitter} minimizes.
+     */
+    @Override
+    public void forecast(double[] y, int offset, int n, int m, ForecastResult result) {
+        if (y == null || n == 0) {
+            throw new IllegalArgumentException("Input time series must not be null or empty.");
+        }
+        if (n < 2 * period) {
+            throw new IllegalArgumentException("Input time series must contain at least two full periods.");
+        }
+        Bounds.check(y, offset, n, m, result);
+        result.prepare(n, m, 2 + period);
+
+        // The indices ring lives in the state and is rotated into forecast order at the end
+        double[] ring = result.state();
+        calculateSeasonalIndices(y, offset, period, n / period, ring, 2);
+        double st = y[offset];
+        double bt = calculateInitialTrend(y, offset, period);
+        int first = Math.max(3, period);
+
+        result.unfitted(0);
+        result.unfitted(1);
+        for (int i = 2; i < n; i++) {
+            double yi = y[offset + i];
+            double prevS = st;
+            int slot = 2 + i % period;
+            double prevI = ring[slot];
+            if (i >= first) {
+                result.fit(i, yi, (prevS + bt) * prevI);
+            } else {
+                result.unfitted(i);
+            }
+
+            if (i - period >= 0) {
+                st = alpha * yi / prevI + (1 - alpha) * (prevS + bt);
+            } else {
+                st = alpha * yi + (1 - alpha) * (prevS + bt);
+            }
+
+            bt = gamma * (st - prevS) + (1 - gamma) * bt;
+
+            if (i - period >= 0) {
+                ring[slot] = beta * yi / st + (1 - beta) * prevI;
             }
         }
 
-        return Ft;
+        double[] forecast = result.forecast();
+        for (int h = 1; h <= m; h++) {
+            forecast[h - 1] = (st + h * bt) * ring[2 + (n - 1 + h) % period];
+        }
+        rotate(ring, 2, period, n % period);
+        ring[0] = st;
+        ring[1] = bt;
+    }
+
+    /**
+     * Rotates {@code a[offset, offset + length)} left by {@code shift} in place.
+     */
+    static void rotate(double[] a, int offset, int length, int shift) {
+        reverse(a, offset, offset + shift);
+        reverse(a, offset + shift, offset + length);
+        reverse(a, offset, offset + length);
     }
 
-    private static double calculateInitialTrend(List<Double> y, int period) {
+    private static void reverse(double[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            double t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /**
+     * Point forecasts are (S + h B) I from the final state, as {@link TripleExpSmoothingUpdater#forecast(int)}.
+     * The variance uses the additive Holt-Winters multipliers 1 + sum of c_j^2 for j < h with
+     * c_j = alpha (1 + j gamma) + beta (1 - alpha) when j is a multiple of the period, an
+     * approximation for the multiplicative model that holds while seasonal swings are moderate.
+     */
+    @Override
+    public void forecastIntervals(double[] y, int offset, int n, PredictionIntervals out) {
+        if (y == null || n == 0) {
+            throw new IllegalArgumentException("Input time series must not be null or empty.");
+        }
+        if (n < 2 * period) {
+            throw new IllegalArgumentException("Input time series must contain at least two full periods.");
+        }
+        Bounds.check(y, offset, n, out);
+
+        double[] ring = out.scratch(period);
+        calculateSeasonalIndices(y, offset, period, n / period, ring, 0);
+        double st = y[offset];
+        double bt = calculateInitialTrend(y, offset, period);
+        double sse = 0.0;
+
+        for (int i = 2; i < n; i++) {
+            double yi = y[offset + i];
+            double prevS = st;
+            int slot = i % period;
+            double prevI = ring[slot];
+            if (i - period >= 0) {
+                if (i >= 3) {
+                    double error = yi - (prevS + bt) * prevI;
+                    sse += error * error;
+                }
+                st = alpha * yi / prevI + (1 - alpha) * (prevS + bt);
+            } else {
+                st = alpha * yi + (1 - alpha) * (prevS + bt);
+            }
+
+            bt = gamma * (st - prevS) + (1 - gamma) * bt;
+
+            if (i - period >= 0) {
+                ring[slot] = beta * yi / st + (1 - beta) * prevI;
+            }
+        }
+
+        out.sigma(sse, n - Math.max(3, period));
+        double multiplier = 1.0;
+        for (int h = 1; h <= out.steps(); h++) {
+            out.set(h, (st + h * bt) * ring[(n - 1 + h) % period], multiplier);
+            double c = alpha * (1 + h * gamma) + ((h % period == 0) ? beta * (1 - alpha) : 0.0);
+            multiplier += c * c;
+        }
+    }
+
+    /**
+     * Returns It(j) as seen at step i: updated indices for the last period, the
+     * initial estimates (or 1.0) for indices the recursion has not reached yet.
+     */
+    private double seasonalIndex(double[] ring, int ringOffset, int i, int j, double previous) {
+        if (j == i - period) {
+            return previous;
+        }
+        if (j > i && j >= period) {
+            return 1.0;
+        }
+        return ring[ringOffset + j % period];
+    }
+
+    static double calculateInitialTrend(double[] y, int offset, int period) {
         double sum = 0.0;
         for (int i = 0; i < period; i++) {
-            sum += (y.get(period + i) - y.get(i));
+            sum += (y[offset + period + i] - y[offset + i]);
         }
         return sum / (period * period);
     }
 
-    private static List<Double> calculateSeasonalIndices(List<Double> y, int period, int seasons) {
-        double[] seasonalAverages = new double[seasons];
-        double[] seasonalIndices = new double[period];
-        double[] normalized = new double[y.size()];
+    /**
+     * Writes the initial seasonal indices to {@code indices[indexOffset, indexOffset + period)}.
+     * Each season is normalized by its own average in a single sweep, summing in the same
+     * order as a season-by-season pass over a normalized copy of the series.
+     */
+    static void calculateSeasonalIndices(double[] y, int offset, int period, int seasons,
+                                         double[] indices, int indexOffset) {
+        Arrays.fill(indices, indexOffset, indexOffset + period, 0.0);
 
         for (int i = 0; i < seasons; i++) {
+            int start = offset + i * period;
+            double seasonalAverage = 0.0;
             for (int j = 0; j < period; j++) {
-                seasonalAverages[i] += y.get(i * period + j);
+                seasonalAverage += y[start + j];
             }
-            seasonalAverages[i] /= period;
-        }
+            seasonalAverage /= period;
 
-        for (int i = 0; i < seasons; i++) {
             for (int j = 0; j < period; j++) {
-                normalized[i * period + j] = y.get(i * period + j) / seasonalAverages[i];
+                indices[indexOffset + j] += y[start + j] / seasonalAverage;
             }
         }
 
         for (int i = 0; i < period; i++) {
-            for (int j = 0; j < seasons; j++) {
-                seasonalIndices[i] += normalized[j * period + i];
+            indices[indexOffset + i] /= seasons;
+        }
+    }
+
+    /**
+     * Runs the recurrences for all series of the panel in lockstep through {@link PanelKernel}.
+     * Seasonal rings are stored slot-major to keep the loop over series sequential.
+     */
+    @Override
+    public void forecast(SeriesPanel data, int m, SeriesPanel out) {
+        if (debug) {
+            ExponentialSmoothing.super.forecast(data, m, out);
+            return;
+        }
+        Bounds.check(data, m, out);
+        int n = data.length();
+        if (n == 0) {
+            throw new IllegalArgumentException("Input time series must not be null or empty.");
+        }
+        if (n < 2 * period) {
+            throw new IllegalArgumentException("Input time series must contain at least two full periods.");
+        }
+
+        int width = data.seriesCount();
+        int seasons = n / period;
+        double[] y = data.values();
+        double[] result = out.values();
+        double[] level = new double[width];
+        double[] trend = new double[width];
+        double[] seasonal = new double[period * width];
+
+        for (int i = 0; i < period; i++) {
+            int row = i * width;
+            int nextRow = (period + i) * width;
+            for (int s = 0; s < width; s++) {
+                trend[s] += (y[nextRow + s] - y[row + s]);
             }
-            seasonalIndices[i] /= seasons;
         }
+        for (int s = 0; s < width; s++) {
+            level[s] = y[s];
+            trend[s] /= (period * period);
+        }
+        calculateSeasonalIndices(y, width, seasons, seasonal);
+
+        Arrays.fill(result, 0, (n + m) * width, 0.0);
 
-        List<Double> result = new ArrayList<>();
-        for (double val : seasonalIndices) result.add(val);
-        return result;
+        PanelKernel.INSTANCE.holtWinters(y, result, level, trend, seasonal, width, n, period, m, alpha, beta, gamma);
+    }
+
+    /**
+     * Panel form of {@link #calculateSeasonalIndices(double[], int, int, int, double[], int)}:
+     * writes the initial index of every series into the slot-major {@code indices} ring.
+     */
+    private void calculateSeasonalIndices(double[] y, int width, int seasons, double[] indices) {
+        double[] averages = new double[width];
+        for (int i = 0; i < seasons; i++) {
+            Arrays.fill(averages, 0.0);
+            for (int j = 0; j < period; j++) {
+                int row = (i * period + j) * width;
+                for (int s = 0; s < width; s++) {
+                    averages[s] += y[row + s];
+                }
+            }
+            for (int s = 0; s < width; s++) {
+                averages[s] /= period;
+            }
+            for (int j = 0; j < period; j++) {
+                int row = (i * period + j) * width;
+                int slot = j * width;
+                for (int s = 0; s < width; s++) {
+                    indices[slot + s] += y[row + s] / averages[s];
+                }
+            }
+        }
+        for (int k = 0; k < indices.length; k++) {
+            indices[k] /= seasons;
+        }
+    }
+
+    /**
+     * Sum of squared one-step-ahead errors, matching the values a one-step
+     * {@link #forecast(double[], int, int, int, double[], int)} emits for the history.
+     * The initial trend and indices do not depend on the smoothing factors, so they are
+     * passed in precomputed; {@code ring} is {@code period} long scratch space.
+     */
+    static double sse(double[] y, int offset, int n, int period, double alpha, double beta, double gamma,
+                      double initialTrend, double[] initialIndices, double[] ring) {
+        return sse(y, offset, n, period, alpha, beta, gamma, initialTrend, initialIndices, ring, 3);
+    }
+
+    /**
+     * As {@link #sse(double[], int, int, int, double, double, double, double, double[], double[])},
+     * scoring only the observations from {@code from} on; the first period is never scored.
+     */
+    static double sse(double[] y, int offset, int n, int period, double alpha, double beta, double gamma,
+                      double initialTrend, double[] initialIndices, double[] ring, int from) {
+        System.arraycopy(initialIndices, 0, ring, 0, period);
+        double st = y[offset];
+        double bt = initialTrend;
+        double sse = 0.0;
+
+        for (int i = 2; i < n; i++) {
+            double yi = y[offset + i];
+            double prevS = st;
+            int slot = i % period;
+            double prevI = ring[slot];
+
+            if (i - period >= 0) {
+                if (i >= from) {
+                    double error = yi - (prevS + bt) * prevI;
+                    sse += error * error;
+                }
+                st = alpha * yi / prevI + (1 - alpha) * (prevS + bt);
+            } else {
+                st = alpha * yi + (1 - alpha) * (prevS + bt);
+            }
+
+            bt = gamma * (st - prevS) + (1 - gamma) * bt;
+
+            if (i - period >= 0) {
+                ring[slot] = beta * yi / st + (1 - beta) * prevI;
+            }
+        }
+        return sse;
     }
 }
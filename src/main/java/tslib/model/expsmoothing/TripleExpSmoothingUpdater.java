@@ -0,0 +1,160 @@
+package tslib.model.expsmoothing;
+
+import java.nio.ByteBuffer;
+
+import tslib.util.Snapshottable;
+
+/**
+ * Incremental Triple Exponential Smoothing (Holt-Winters Multiplicative Method).
+ *
+ * Keeps the level, the trend and a ring of the last {@code period} seasonal indices.
+ * The initial trend and indices are estimated from the first two periods, which are
+ * buffered and replayed; {@link #initialize(double[], int, int)} estimates them from
+ * a longer history instead, matching the state {@link TripleExpSmoothing} reaches.
+ */
+public class TripleExpSmoothingUpdater implements ExpSmoothingUpdater {
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final int period;
+    private final double[] seasonal;
+    private final double[] warmup;
+
+    private double level;
+    private double trend;
+    private long count;
+    private boolean initialized;
+
+    public TripleExpSmoothingUpdater(double alpha, double beta, double gamma, int period) {
+        if (alpha < 0.0 || alpha > 1.0 || beta < 0.0 || beta > 1.0 || gamma < 0.0 || gamma > 1.0) {
+            throw new IllegalArgumentException("Smoothing factors must be between 0.0 and 1.0.");
+        }
+        if (period <= 1) {
+            throw new IllegalArgumentException("Period must be > 1.");
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.period = period;
+        this.seasonal = new double[period];
+        this.warmup = new double[2 * period];
+    }
+
+    @Override
+    public void update(double y) {
+        if (initialized) {
+            step(y, count++);
+            return;
+        }
+        warmup[(int) count++] = y;
+        if (count == warmup.length) {
+            initializeFrom(warmup, 0, warmup.length);
+        }
+    }
+
+    @Override
+    public void initialize(double[] history, int offset, int length) {
+        if (history == null || length < 2 * period) {
+            throw new IllegalArgumentException("Input time series must contain at least two full periods.");
+        }
+        reset();
+        initializeFrom(history, offset, length);
+    }
+
+    private void initializeFrom(double[] history, int offset, int length) {
+        TripleExpSmoothing.calculateSeasonalIndices(history, offset, period, length / period, seasonal, 0);
+        trend = TripleExpSmoothing.calculateInitialTrend(history, offset, period);
+        level = history[offset];
+        // The batch recursion starts from the second observation with the first as its level
+        for (int i = 2; i < length; i++) {
+            step(history[offset + i], i);
+        }
+        count = length;
+        initialized = true;
+    }
+
+    private void step(double y, long i) {
+        double prevLevel = level;
+        int slot = (int) (i % period);
+        double prevIndex = seasonal[slot];
+
+        if (i >= period) {
+            level = alpha * y / prevIndex + (1 - alpha) * (prevLevel + trend);
+        } else {
+            level = alpha * y + (1 - alpha) * (prevLevel + trend);
+        }
+        trend = gamma * (level - prevLevel) + (1 - gamma) * trend;
+        if (i >= period) {
+            seasonal[slot] = beta * y / level + (1 - beta) * prevIndex;
+        }
+    }
+
+    /**
+     * Horizons beyond one period reuse the latest index for the same season.
+     */
+    @Override
+    public double forecast(int h) {
+        if (h < 1) {
+            throw new IllegalArgumentException("Horizon must be >= 1.");
+        }
+        if (!isReady()) {
+            throw new IllegalStateException("Need two full periods of observations.");
+        }
+        int ahead = (h - 1) % period + 1;
+        return (level + h * trend) * seasonal[(int) ((count - 1 + ahead) % period)];
+    }
+
+    @Override
+    public boolean isReady() {
+        return initialized;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Layout: period, initialized flag, count, level, trend, seasonal ring, warmup buffer.
+     */
+    @Override
+    public int snapshotSize() {
+        return 29 + 8 * (seasonal.length + warmup.length);
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.putInt(period).put((byte) (initialized ? 1 : 0));
+        out.putLong(count).putDouble(level).putDouble(trend);
+        for (double s : seasonal) {
+            out.putDouble(s);
+        }
+        for (double y : warmup) {
+            out.putDouble(y);
+        }
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        Snapshottable.checkMatch(in.getInt(), period);
+        initialized = in.get() != 0;
+        count = in.getLong();
+        level = in.getDouble();
+        trend = in.getDouble();
+        for (int i = 0; i < seasonal.length; i++) {
+            seasonal[i] = in.getDouble();
+        }
+        for (int i = 0; i < warmup.length; i++) {
+            warmup[i] = in.getDouble();
+        }
+    }
+
+    @Override
+    public void reset() {
+        level = 0.0;
+        trend = 0.0;
+        count = 0;
+        initialized = false;
+    }
+}
@@ -0,0 +1,96 @@
+package tslib.model.expsmoothing;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PanelKernel} backend built on the JDK Vector API. Each SIMD lane carries
+ * one series; lanes that do not fill a whole vector run through the scalar loop.
+ * Operations mirror the scalar expressions one for one (no fused multiply-add),
+ * so results are bit-identical to the scalar backend.
+ *
+ * Only loaded reflectively by {@link PanelKernel} once the module is known to be present.
+ */
+final class VectorPanelKernel extends PanelKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    void single(double[] y, double[] result, int width, int n, double alpha) {
+        double keep = 1 - alpha;
+        int bound = SPECIES.loopBound(width);
+        for (int row = width; row < n * width; row += width) {
+            int s = 0;
+            for (; s < bound; s += SPECIES.length()) {
+                DoubleVector obs = DoubleVector.fromArray(SPECIES, y, row + s);
+                DoubleVector prev = DoubleVector.fromArray(SPECIES, result, row - width + s);
+                obs.mul(alpha).add(prev.mul(keep)).intoArray(result, row + s);
+            }
+            for (; s < width; s++) {
+                result[row + s] = alpha * y[row + s] + (1 - alpha) * result[row - width + s];
+            }
+        }
+    }
+
+    @Override
+    void holt(double[] y, double[] result, double[] level, double[] trend, int width, int n,
+              double alpha, double gamma) {
+        double keepLevel = 1 - alpha;
+        double keepTrend = 1 - gamma;
+        int bound = SPECIES.loopBound(width);
+        for (int row = width; row < n * width; row += width) {
+            for (int s = 0; s < bound; s += SPECIES.length()) {
+                DoubleVector prevS = DoubleVector.fromArray(SPECIES, level, s);
+                DoubleVector b = DoubleVector.fromArray(SPECIES, trend, s);
+                DoubleVector st = DoubleVector.fromArray(SPECIES, y, row + s).mul(alpha)
+                        .add(prevS.add(b).mul(keepLevel));
+                b = st.sub(prevS).mul(gamma).add(b.mul(keepTrend));
+                st.intoArray(level, s);
+                b.intoArray(trend, s);
+                st.add(b).intoArray(result, row + s);
+            }
+            holtRow(y, result, level, trend, row, bound, width, alpha, gamma);
+        }
+    }
+
+    @Override
+    void holtWinters(double[] y, double[] result, double[] level, double[] trend, double[] seasonal,
+                     int width, int n, int period, int m, double alpha, double beta, double gamma) {
+        double keepLevel = 1 - alpha;
+        double keepTrend = 1 - gamma;
+        double keepSeason = 1 - beta;
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        int bound = SPECIES.loopBound(width);
+
+        for (int i = 2; i < n; i++) {
+            HoltWintersRow r = new HoltWintersRow(i, width, n, period, m);
+            for (int s = 0; s < bound; s += SPECIES.length()) {
+                DoubleVector yi = DoubleVector.fromArray(SPECIES, y, r.row + s);
+                DoubleVector prevS = DoubleVector.fromArray(SPECIES, level, s);
+                DoubleVector prevI = DoubleVector.fromArray(SPECIES, seasonal, r.slot + s);
+                DoubleVector b = DoubleVector.fromArray(SPECIES, trend, s);
+
+                DoubleVector weighted = r.seasonalStep ? yi.mul(alpha).div(prevI) : yi.mul(alpha);
+                DoubleVector st = weighted.add(prevS.add(b).mul(keepLevel));
+                b = st.sub(prevS).mul(gamma).add(b.mul(keepTrend));
+                st.intoArray(level, s);
+                b.intoArray(trend, s);
+
+                if (r.seasonalStep) {
+                    yi.mul(beta).div(st).add(prevI.mul(keepSeason)).intoArray(seasonal, r.slot + s);
+                }
+                if (r.emit) {
+                    DoubleVector index = r.previous ? prevI
+                            : (r.unseen ? one : DoubleVector.fromArray(SPECIES, seasonal, r.sourceSlot + s));
+                    st.add(b.mul(m)).mul(index).intoArray(result, r.outRow + s);
+                }
+            }
+            r.run(y, result, level, trend, seasonal, bound, width, alpha, beta, gamma);
+        }
+    }
+}
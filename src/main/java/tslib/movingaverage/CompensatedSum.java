@@ -0,0 +1,71 @@
+package tslib.movingaverage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Running sum with Neumaier compensation.
+ *
+ * The low-order bits lost by each addition are collected in a separate term, so the
+ * error stays at a few ulps of the result however many values are added and removed,
+ * instead of growing with the number of updates as a plain {@code sum += x} does.
+ */
+final class CompensatedSum {
+
+    private double sum;
+    private double compensation;
+
+    void add(double x) {
+        double t = sum + x;
+        if (Math.abs(sum) >= Math.abs(x)) {
+            compensation += (sum - t) + x;
+        } else {
+            compensation += (x - t) + sum;
+        }
+        sum = t;
+    }
+
+    /**
+     * Adds {@code a * b}, including the rounding error of the product.
+     */
+    void addProduct(double a, double b) {
+        double p = a * b;
+        add(p);
+        compensation += Math.fma(a, b, -p);
+    }
+
+    /**
+     * Adds the current value of {@code other}, including its compensation term.
+     */
+    void add(CompensatedSum other) {
+        add(other.sum);
+        add(other.compensation);
+    }
+
+    /**
+     * Subtracts the current value of {@code other}, including its compensation term.
+     */
+    void subtract(CompensatedSum other) {
+        add(-other.sum);
+        add(-other.compensation);
+    }
+
+    double value() {
+        return sum + compensation;
+    }
+
+    static final int SNAPSHOT_SIZE = 16;
+
+    void snapshot(ByteBuffer out) {
+        out.putDouble(sum).putDouble(compensation);
+    }
+
+    void restore(ByteBuffer in) {
+        sum = in.getDouble();
+        compensation = in.getDouble();
+    }
+
+    void reset() {
+        sum = 0.0;
+        compensation = 0.0;
+    }
+}
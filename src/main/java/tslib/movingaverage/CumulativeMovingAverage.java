@@ -1,22 +1,41 @@
 package tslib.movingaverage;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import tslib.util.Snapshottable;
+
 /**
  * Cumulative Moving Average (CMA)
  * Calculates the running average of all values seen so far.
  *
+ * The count is a long, so instances can run over billions of points. Optionally the
+ * average is taken from a compensated running sum instead of the incremental update,
+ * which keeps it within a few ulps of the exact mean for long-lived instances.
+ *
  * Example:
  *   CumulativeMovingAverage cma = new CumulativeMovingAverage();
  *   List<Double> result = cma.compute(data);
  *
  * Author: navdeepgill
  */
-public class CumulativeMovingAverage implements MovingAverage {
+public class CumulativeMovingAverage implements MovingAverage, Snapshottable {
 
-    private int n = 0;
+    private long n = 0;
     private double average = 0.0;
+    private final CompensatedSum compensatedSum;
+
+    public CumulativeMovingAverage() {
+        this(false);
+    }
+
+    /**
+     * @param compensated whether to derive the average from a Neumaier-compensated sum
+     */
+    public CumulativeMovingAverage(boolean compensated) {
+        this.compensatedSum = compensated ? new CompensatedSum() : null;
+    }
 
     /**
      * Computes the cumulative moving average for the input data.
@@ -40,10 +59,73 @@ public class CumulativeMovingAverage implements MovingAverage {
      * Updates the running average with a new value.
      */
     public double add(double x) {
+        if (compensatedSum != null) {
+            compensatedSum.add(x);
+            average = compensatedSum.value() / ++n;
+            return average;
+        }
         average += (x - average) / ++n;
         return average;
     }
 
+    /**
+     * Merges in the running average of another part of the series, so partial averages
+     * computed on separate workers can be reduced. Merging the same parts in the same
+     * order always gives the same result.
+     *
+     * @param other average built with the same compensation setting; left unchanged
+     * @return this average, now over both parts
+     */
+    public CumulativeMovingAverage combine(CumulativeMovingAverage other) {
+        if ((compensatedSum != null) != (other.compensatedSum != null)) {
+            throw new IllegalArgumentException("Cannot combine compensated and plain averages.");
+        }
+        if (other.n == 0) {
+            return this;
+        }
+        n += other.n;
+        if (compensatedSum != null) {
+            compensatedSum.add(other.compensatedSum);
+            average = compensatedSum.value() / n;
+        } else {
+            average += (other.average - average) * other.n / n;
+        }
+        return this;
+    }
+
+    @Override
+    public double push(double value) {
+        return add(value);
+    }
+
+    @Override
+    public boolean isReady() {
+        return n > 0;
+    }
+
+    @Override
+    public int snapshotSize() {
+        return 17 + ((compensatedSum != null) ? CompensatedSum.SNAPSHOT_SIZE : 0);
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.put((byte) ((compensatedSum != null) ? 1 : 0)).putLong(n).putDouble(average);
+        if (compensatedSum != null) {
+            compensatedSum.snapshot(out);
+        }
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        Snapshottable.checkMatch(in.get(), (compensatedSum != null) ? 1 : 0);
+        n = in.getLong();
+        average = in.getDouble();
+        if (compensatedSum != null) {
+            compensatedSum.restore(in);
+        }
+    }
+
     /**
      * Resets the internal state for reuse.
      */
@@ -51,5 +133,8 @@ public class CumulativeMovingAverage implements MovingAverage {
     public void reset() {
         n = 0;
         average = 0.0;
+        if (compensatedSum != null) {
+            compensatedSum.reset();
+        }
     }
 }
@@ -1,8 +1,11 @@
 package tslib.movingaverage;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import tslib.util.Snapshottable;
+
 /**
  * Exponential Moving Average (EMA)
  * Applies smoothing with decay factor alpha in (0, 1].
@@ -13,10 +16,11 @@ import java.util.List;
  *
  * Author: navdeepgill
  */
-public class ExponentialMovingAverage implements MovingAverage {
+public class ExponentialMovingAverage implements MovingAverage, Snapshottable {
 
     private final double alpha;
-    private Double oldValue;
+    private double oldValue;
+    private boolean initialized;
 
     public ExponentialMovingAverage(double alpha) {
         if (alpha <= 0 || alpha > 1) {
@@ -50,19 +54,47 @@ public class ExponentialMovingAverage implements MovingAverage {
      * @return updated EMA
      */
     public double compute(double value) {
-        if (oldValue == null) {
+        if (!initialized) {
             oldValue = value;
+            initialized = true;
         } else {
             oldValue = oldValue + alpha * (value - oldValue);
         }
         return oldValue;
     }
 
+    @Override
+    public double push(double value) {
+        return compute(value);
+    }
+
+    @Override
+    public boolean isReady() {
+        return initialized;
+    }
+
+    @Override
+    public int snapshotSize() {
+        return 9;
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.put((byte) (initialized ? 1 : 0)).putDouble(oldValue);
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        initialized = in.get() != 0;
+        oldValue = in.getDouble();
+    }
+
     /**
      * Resets internal state (for reuse).
      */
     @Override
     public void reset() {
-        oldValue = null;
+        oldValue = 0.0;
+        initialized = false;
     }
 }
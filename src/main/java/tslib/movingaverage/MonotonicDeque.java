@@ -0,0 +1,67 @@
+package tslib.movingaverage;
+
+/**
+ * Sliding-window extreme over a monotonic deque of primitive values.
+ *
+ * The deque holds the window's candidates for the extreme in arrival order; a new value
+ * first evicts every candidate it dominates from the back, and the front leaves once it
+ * falls out of the window. Each value enters and leaves once, so updates are amortized
+ * O(1), and at most {@code window} candidates are ever held.
+ */
+final class MonotonicDeque {
+
+    private final int window;
+    private final boolean max;
+    private final double[] values;
+    private final long[] positions;
+    private int head;
+    private int size;
+    private long count;
+
+    MonotonicDeque(int window, boolean max) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be a positive integer!");
+        }
+        this.window = window;
+        this.max = max;
+        this.values = new double[window];
+        this.positions = new long[window];
+    }
+
+    /**
+     * Adds a value and returns the extreme of the last {@code window} values.
+     */
+    double push(double value) {
+        // Expire first so the new value always has a free slot
+        if (size > 0 && positions[head] <= count - window) {
+            head = (head + 1 == window) ? 0 : head + 1;
+            size--;
+        }
+        while (size > 0 && dominates(value, values[slot(size - 1)])) {
+            size--;
+        }
+        int tail = slot(size++);
+        values[tail] = value;
+        positions[tail] = count++;
+        return values[head];
+    }
+
+    boolean isFull() {
+        return count >= window;
+    }
+
+    void reset() {
+        head = 0;
+        size = 0;
+        count = 0;
+    }
+
+    private boolean dominates(double value, double candidate) {
+        return max ? value >= candidate : value <= candidate;
+    }
+
+    private int slot(int i) {
+        int s = head + i;
+        return (s >= window) ? s - window : s;
+    }
+}
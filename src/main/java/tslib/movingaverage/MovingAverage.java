@@ -2,6 +2,21 @@ package tslib.movingaverage;
 
 import java.util.List;
 
+/**
+ * Moving average over a numeric series, usable in bulk through {@link #compute(List)}
+ * or one point at a time through {@link #push(double)}.
+ *
+ * The streaming methods are primitive: they neither box nor allocate, so an instance
+ * can sit in a per-tick loop. Until enough points have been pushed the value is
+ * {@code NaN}, where {@link #compute(List)} reports {@code null}.
+ *
+ * Example usage:
+ *   MovingAverage sma = new SimpleMovingAverage(20);
+ *   for (double tick : ticks) {
+ *       double value = sma.push(tick);
+ *       if (sma.isReady()) { ... }
+ *   }
+ */
 public interface MovingAverage {
     /**
      * Compute the moving average for the given time series.
@@ -10,6 +25,18 @@ public interface MovingAverage {
      */
     List<Double> compute(List<Double> data);
 
+    /**
+     * Adds the next point and returns the updated average.
+     * @param value next observation
+     * @return current average, or {@code NaN} while {@link #isReady()} is false
+     */
+    double push(double value);
+
+    /**
+     * @return whether enough points have been pushed for the average to be defined
+     */
+    boolean isReady();
+
     /**
      * Reset internal state (if applicable).
      */
@@ -0,0 +1,149 @@
+package tslib.movingaverage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import tslib.util.SeriesPanel;
+
+/**
+ * Runs many moving averages over a series in one pass.
+ *
+ * Every point is read once and pushed through all registered averages. Results go to
+ * a preallocated {@link SeriesPanel} with one column per average, so the values of one
+ * time step are written next to each other and nothing is boxed or allocated per point.
+ * Averages that are not ready yet write {@code NaN}.
+ *
+ * Example usage:
+ *   MovingAveragePipeline pipeline = MovingAveragePipeline.builder()
+ *           .sma(5, 20).wma(10).ema(0.1).cma()
+ *           .build();
+ *   SeriesPanel out = pipeline.newOutput(data.length);
+ *   pipeline.run(data, 0, data.length, out);
+ *   double sma20 = out.get(t, 1);
+ */
+public final class MovingAveragePipeline {
+
+    private final MovingAverage[] averages;
+
+    private MovingAveragePipeline(MovingAverage[] averages) {
+        this.averages = averages;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return number of registered averages, i.e. output columns
+     */
+    public int size() {
+        return averages.length;
+    }
+
+    /**
+     * @return the average writing column {@code column}
+     */
+    public MovingAverage get(int column) {
+        return averages[column];
+    }
+
+    /**
+     * Allocates an output panel for a series of {@code length} points.
+     */
+    public SeriesPanel newOutput(int length) {
+        return new SeriesPanel(averages.length, length);
+    }
+
+    /**
+     * Resets every average, then smooths {@code data[offset, offset + length)} into
+     * rows {@code [0, length)} of {@code out}.
+     *
+     * @param data the input series
+     * @param offset index of the first point in {@code data}
+     * @param length number of points
+     * @param out panel with {@link #size()} columns and at least {@code length} rows
+     */
+    public void run(double[] data, int offset, int length, SeriesPanel out) {
+        Objects.requireNonNull(data, "data");
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.requireNonNull(out, "out");
+        if (out.seriesCount() != averages.length || out.length() < length) {
+            throw new IllegalArgumentException("Output panel must have one column per average and length rows.");
+        }
+
+        reset();
+        double[] values = out.values();
+        int width = averages.length;
+        for (int t = 0; t < length; t++) {
+            push(data[offset + t], values, t * width);
+        }
+    }
+
+    /**
+     * Pushes one point through every average without resetting them.
+     *
+     * @param value next point
+     * @param row receives the {@link #size()} current values
+     * @param rowOffset index of the first value in {@code row}
+     */
+    public void push(double value, double[] row, int rowOffset) {
+        for (int i = 0; i < averages.length; i++) {
+            row[rowOffset + i] = averages[i].push(value);
+        }
+    }
+
+    public void reset() {
+        for (MovingAverage average : averages) {
+            average.reset();
+        }
+    }
+
+    /**
+     * Registers averages in output column order.
+     */
+    public static final class Builder {
+
+        private final List<MovingAverage> averages = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(MovingAverage average) {
+            averages.add(Objects.requireNonNull(average, "average"));
+            return this;
+        }
+
+        public Builder sma(int... periods) {
+            for (int period : periods) {
+                add(new SimpleMovingAverage(period));
+            }
+            return this;
+        }
+
+        public Builder wma(int... periods) {
+            for (int period : periods) {
+                add(new WeightedMovingAverage(period));
+            }
+            return this;
+        }
+
+        public Builder ema(double... alphas) {
+            for (double alpha : alphas) {
+                add(new ExponentialMovingAverage(alpha));
+            }
+            return this;
+        }
+
+        public Builder cma() {
+            return add(new CumulativeMovingAverage());
+        }
+
+        public MovingAveragePipeline build() {
+            if (averages.isEmpty()) {
+                throw new IllegalArgumentException("Pipeline must contain at least one moving average.");
+            }
+            return new MovingAveragePipeline(averages.toArray(new MovingAverage[0]));
+        }
+    }
+}
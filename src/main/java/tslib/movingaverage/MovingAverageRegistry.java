@@ -0,0 +1,463 @@
+package tslib.movingaverage;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+import tslib.util.Snapshottable;
+
+/**
+ * Thread-safe moving averages for many keyed streams, stored as packed primitive state.
+ *
+ * Keys are hashed onto lock stripes, each an open-addressing table of parallel primitive
+ * arrays, so updates to different stripes never contend and no object is allocated per key.
+ * An EMA stream costs a key, a value and a last-access time (24 bytes per slot); a CMA stream
+ * adds its count. Streams that have not been updated for a while can be evicted with
+ * {@link #evictIdle(Duration)}.
+ *
+ * String keys are reduced to 64-bit hashes and not stored. With a million live keys the
+ * chance that any two collide is about 3e-8; colliding keys would share one stream.
+ *
+ * A snapshot holds the key, average and count of every stream; restored streams count as
+ * freshly touched. Pause updates while snapshotting so the size reported by
+ * {@link #snapshotSize()} still holds when {@link #snapshot(ByteBuffer)} runs.
+ *
+ * Example usage:
+ *   MovingAverageRegistry registry = MovingAverageRegistry.ema(0.1);
+ *   double smoothed = registry.push("cpu.host-17", reading);   // from any thread
+ *   registry.evictIdle(Duration.ofMinutes(30));
+ */
+public final class MovingAverageRegistry implements Snapshottable {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean cumulative;
+    private final double alpha;
+    private final LongSupplier clock;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private MovingAverageRegistry(boolean cumulative, double alpha, int stripes, LongSupplier clock) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be a positive integer!");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock must not be null.");
+        }
+        int count = Integer.highestOneBit(stripes - 1) << 1;
+        count = Math.max(count, 1);
+        this.cumulative = cumulative;
+        this.alpha = alpha;
+        this.clock = clock;
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(cumulative);
+        }
+    }
+
+    /**
+     * Exponential moving averages with smoothing factor {@code alpha}, as {@link ExponentialMovingAverage}.
+     */
+    public static MovingAverageRegistry ema(double alpha) {
+        return ema(alpha, defaultStripes(), System::nanoTime);
+    }
+
+    /**
+     * @param stripes number of lock stripes, rounded up to a power of two
+     * @param clock time source in nanoseconds for idle eviction
+     */
+    public static MovingAverageRegistry ema(double alpha, int stripes, LongSupplier clock) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        }
+        return new MovingAverageRegistry(false, alpha, stripes, clock);
+    }
+
+    /**
+     * Cumulative moving averages, as {@link CumulativeMovingAverage}.
+     */
+    public static MovingAverageRegistry cma() {
+        return cma(defaultStripes(), System::nanoTime);
+    }
+
+    /**
+     * @param stripes number of lock stripes, rounded up to a power of two
+     * @param clock time source in nanoseconds for idle eviction
+     */
+    public static MovingAverageRegistry cma(int stripes, LongSupplier clock) {
+        return new MovingAverageRegistry(true, 0.0, stripes, clock);
+    }
+
+    /**
+     * Adds a point to the stream of {@code key}, creating the stream if needed.
+     *
+     * @return the stream's updated average
+     */
+    public double push(long key, double value) {
+        long h = mix(key);
+        return stripe(h).push(key, h, value, clock.getAsLong(), cumulative, alpha);
+    }
+
+    public double push(CharSequence key, double value) {
+        return push(hash(key), value);
+    }
+
+    /**
+     * @return the current average of {@code key}, or {@code NaN} if it has no stream
+     */
+    public double get(long key) {
+        long h = mix(key);
+        return stripe(h).get(key, h);
+    }
+
+    public double get(CharSequence key) {
+        return get(hash(key));
+    }
+
+    /**
+     * @return whether {@code key} had a stream
+     */
+    public boolean remove(long key) {
+        long h = mix(key);
+        return stripe(h).remove(key, h);
+    }
+
+    public boolean remove(CharSequence key) {
+        return remove(hash(key));
+    }
+
+    /**
+     * @return number of live streams; a snapshot when updates are running concurrently
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes every stream not updated within {@code idle} of now, one stripe at a time.
+     *
+     * @return number of streams removed
+     */
+    public long evictIdle(Duration idle) {
+        long idleNanos = idle.toNanos();
+        long evicted = 0;
+        for (Stripe stripe : stripes) {
+            evicted += stripe.evictIdle(clock.getAsLong(), idleNanos);
+        }
+        return evicted;
+    }
+
+    @Override
+    public int snapshotSize() {
+        return Math.toIntExact(17 + size() * (cumulative ? 24L : 16L));
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.put((byte) (cumulative ? 1 : 0)).putDouble(alpha);
+        int countPosition = out.position();
+        out.putLong(0L);
+        long entries = 0;
+        for (Stripe stripe : stripes) {
+            entries += stripe.snapshot(out);
+        }
+        out.putLong(countPosition, entries);
+    }
+
+    /**
+     * Replaces every stream with the snapshotted ones.
+     */
+    @Override
+    public void restore(ByteBuffer in) {
+        Snapshottable.checkMatch(in.get(), cumulative ? 1 : 0);
+        Snapshottable.checkMatch(Double.doubleToLongBits(in.getDouble()), Double.doubleToLongBits(alpha));
+        long entries = in.getLong();
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+        long now = clock.getAsLong();
+        for (long e = 0; e < entries; e++) {
+            long key = in.getLong();
+            double value = in.getDouble();
+            long count = cumulative ? in.getLong() : 0L;
+            long h = mix(key);
+            stripe(h).put(key, h, value, count, now);
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-16 code units of {@code key}, finalized with {@link #mix(long)}.
+     */
+    public static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * MurmurHash3 finalizer: spreads sequential keys over stripes and slots.
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Stripe stripe(long h) {
+        return stripes[(int) (h >>> 40) & stripeMask];
+    }
+
+    private static int defaultStripes() {
+        return 4 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * One lock stripe: a linear-probing table with backward-shift deletion. An empty slot
+     * is marked by {@link #EMPTY} in {@code touched}, so every long is a valid key.
+     */
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private long[] keys;
+        private double[] values;
+        private long[] counts;
+        private long[] touched;
+        private int size;
+
+        Stripe(boolean cumulative) {
+            allocate(INITIAL_CAPACITY, cumulative);
+        }
+
+        double push(long key, long h, double value, long now, boolean cumulative, double alpha) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int i = (int) h & mask;
+                while (touched[i] != EMPTY) {
+                    if (keys[i] == key) {
+                        double average;
+                        if (cumulative) {
+                            average = values[i] + (value - values[i]) / ++counts[i];
+                        } else {
+                            average = values[i] + alpha * (value - values[i]);
+                        }
+                        values[i] = average;
+                        touched[i] = now;
+                        return average;
+                    }
+                    i = (i + 1) & mask;
+                }
+
+                keys[i] = key;
+                values[i] = value;
+                touched[i] = now;
+                if (cumulative) {
+                    counts[i] = 1;
+                }
+                if (++size * 4 > keys.length * 3) {
+                    grow();
+                }
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        double get(long key, long h) {
+            long stamp = lock.tryOptimisticRead();
+            double value = find(key, h);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(key, h);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private double find(long key, long h) {
+            long[] k = keys;
+            long[] t = touched;
+            double[] v = values;
+            // A concurrent resize may leave the arrays mismatched; validate() rejects the result
+            int mask = Math.min(Math.min(k.length, t.length), v.length) - 1;
+            int i = (int) h & mask;
+            for (int probes = 0; probes <= mask && t[i] != EMPTY; probes++) {
+                if (k[i] == key) {
+                    return v[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return Double.NaN;
+        }
+
+        boolean remove(long key, long h) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int i = (int) h & mask;
+                while (touched[i] != EMPTY) {
+                    if (keys[i] == key) {
+                        delete(i);
+                        return true;
+                    }
+                    i = (i + 1) & mask;
+                }
+                return false;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int snapshot(ByteBuffer out) {
+            long stamp = lock.readLock();
+            try {
+                for (int i = 0; i < keys.length; i++) {
+                    if (touched[i] != EMPTY) {
+                        out.putLong(keys[i]).putDouble(values[i]);
+                        if (counts != null) {
+                            out.putLong(counts[i]);
+                        }
+                    }
+                }
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void put(long key, long h, double value, long count, long now) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int i = (int) h & mask;
+                while (touched[i] != EMPTY && keys[i] != key) {
+                    i = (i + 1) & mask;
+                }
+                boolean added = touched[i] == EMPTY;
+                keys[i] = key;
+                values[i] = value;
+                touched[i] = now;
+                if (counts != null) {
+                    counts[i] = count;
+                }
+                if (added && ++size * 4 > keys.length * 3) {
+                    grow();
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                allocate(INITIAL_CAPACITY, counts != null);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int evictIdle(long now, long idleNanos) {
+            long stamp = lock.writeLock();
+            try {
+                int evicted = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    // Re-check the slot after a delete: backward shift may have filled it
+                    while (touched[i] != EMPTY && now - touched[i] > idleNanos) {
+                        delete(i);
+                        evicted++;
+                    }
+                }
+                return evicted;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            int j = slot;
+            while (true) {
+                j = (j + 1) & mask;
+                if (touched[j] == EMPTY) {
+                    break;
+                }
+                int home = (int) mix(keys[j]) & mask;
+                // Leave entries whose home lies cyclically in (hole, j]
+                boolean stays = (hole <= j) ? (hole < home && home <= j) : (hole < home || home <= j);
+                if (!stays) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    touched[hole] = touched[j];
+                    if (counts != null) {
+                        counts[hole] = counts[j];
+                    }
+                    hole = j;
+                }
+            }
+            touched[hole] = EMPTY;
+            size--;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            long[] oldCounts = counts;
+            long[] oldTouched = touched;
+            allocate(oldKeys.length * 2, oldCounts != null);
+
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldTouched[j] == EMPTY) {
+                    continue;
+                }
+                int i = (int) mix(oldKeys[j]) & mask;
+                while (touched[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+                touched[i] = oldTouched[j];
+                if (oldCounts != null) {
+                    counts[i] = oldCounts[j];
+                }
+            }
+        }
+
+        private void allocate(int capacity, boolean cumulative) {
+            keys = new long[capacity];
+            values = new double[capacity];
+            counts = cumulative ? new long[capacity] : null;
+            touched = new long[capacity];
+            Arrays.fill(touched, EMPTY);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package tslib.movingaverage;
+
+/**
+ * Fixed-capacity order-statistic treap over primitive arrays.
+ *
+ * Nodes are identified by {@code 1..capacity} and chosen by the caller, which lets a
+ * sliding window reuse the slot of the value it evicts. Keys are ordered by value and
+ * then by insertion sequence, so equal values stay distinct. Insertion, removal and
+ * selection by rank take expected O(log n) and allocate nothing.
+ */
+final class OrderStatisticTree {
+
+    private final double[] key;
+    private final long[] seq;
+    private final int[] priority;
+    private final int[] left;
+    private final int[] right;
+    private final int[] size;
+    private int root;
+    private int seed = 0x2545F491;
+
+    // results of split()
+    private int splitLeft;
+    private int splitRight;
+
+    OrderStatisticTree(int capacity) {
+        key = new double[capacity + 1];
+        seq = new long[capacity + 1];
+        priority = new int[capacity + 1];
+        left = new int[capacity + 1];
+        right = new int[capacity + 1];
+        size = new int[capacity + 1];
+    }
+
+    int size() {
+        return size[root];
+    }
+
+    /**
+     * Inserts {@code value} as node {@code node}, which must not be in the tree.
+     */
+    void insert(int node, double value, long sequence) {
+        key[node] = value;
+        seq[node] = sequence;
+        priority[node] = nextPriority();
+        left[node] = 0;
+        right[node] = 0;
+        size[node] = 1;
+
+        split(root, value, sequence);
+        int greater = splitRight;
+        root = merge(merge(splitLeft, node), greater);
+    }
+
+    /**
+     * Removes node {@code node}, which must be in the tree.
+     */
+    void remove(int node) {
+        root = erase(root, node);
+    }
+
+    /**
+     * @return the value of rank {@code k}, 0 being the smallest
+     */
+    double select(int k) {
+        int t = root;
+        while (true) {
+            int l = size[left[t]];
+            if (k < l) {
+                t = left[t];
+            } else if (k == l) {
+                return key[t];
+            } else {
+                k -= l + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    void clear() {
+        root = 0;
+    }
+
+    private int erase(int t, int node) {
+        if (t == node) {
+            return merge(left[t], right[t]);
+        }
+        if (less(t, key[node], seq[node])) {
+            right[t] = erase(right[t], node);
+        } else {
+            left[t] = erase(left[t], node);
+        }
+        size[t]--;
+        return t;
+    }
+
+    /**
+     * Splits {@code t} into keys below (value, sequence) and the rest.
+     */
+    private void split(int t, double value, long sequence) {
+        if (t == 0) {
+            splitLeft = 0;
+            splitRight = 0;
+            return;
+        }
+        if (less(t, value, sequence)) {
+            split(right[t], value, sequence);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], value, sequence);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private boolean less(int t, double value, long sequence) {
+        int c = Double.compare(key[t], value);
+        return c < 0 || (c == 0 && seq[t] < sequence);
+    }
+
+    private void update(int t) {
+        size[t] = size[left[t]] + size[right[t]] + 1;
+    }
+
+    private int nextPriority() {
+        // xorshift32: priorities only need to look random to keep the treap balanced
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
@@ -0,0 +1,53 @@
+package tslib.movingaverage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rolling maximum over a sliding window.
+ * Amortized O(1) per point through a monotonic deque, whatever the window size.
+ *
+ * Example usage:
+ *   RollingMax rolling = new RollingMax(10_000);
+ *   double value = rolling.push(sample);
+ *
+ * Returns `null` (`NaN` from push) for the first (window - 1) elements, until the window is full.
+ */
+public class RollingMax implements MovingAverage {
+
+    private final MonotonicDeque deque;
+
+    public RollingMax(int window) {
+        this.deque = new MonotonicDeque(window, true);
+    }
+
+    @Override
+    public List<Double> compute(List<Double> data) {
+        if (data == null || data.isEmpty()) return List.of();
+
+        List<Double> result = new ArrayList<>(data.size());
+        reset();
+
+        for (double value : data) {
+            double max = push(value);
+            result.add(isReady() ? max : null);
+        }
+        return result;
+    }
+
+    @Override
+    public double push(double value) {
+        double max = deque.push(value);
+        return deque.isFull() ? max : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return deque.isFull();
+    }
+
+    @Override
+    public void reset() {
+        deque.reset();
+    }
+}
@@ -0,0 +1,53 @@
+package tslib.movingaverage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rolling minimum over a sliding window.
+ * Amortized O(1) per point through a monotonic deque, whatever the window size.
+ *
+ * Example usage:
+ *   RollingMin rolling = new RollingMin(10_000);
+ *   double value = rolling.push(sample);
+ *
+ * Returns `null` (`NaN` from push) for the first (window - 1) elements, until the window is full.
+ */
+public class RollingMin implements MovingAverage {
+
+    private final MonotonicDeque deque;
+
+    public RollingMin(int window) {
+        this.deque = new MonotonicDeque(window, false);
+    }
+
+    @Override
+    public List<Double> compute(List<Double> data) {
+        if (data == null || data.isEmpty()) return List.of();
+
+        List<Double> result = new ArrayList<>(data.size());
+        reset();
+
+        for (double value : data) {
+            double min = push(value);
+            result.add(isReady() ? min : null);
+        }
+        return result;
+    }
+
+    @Override
+    public double push(double value) {
+        double min = deque.push(value);
+        return deque.isFull() ? min : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return deque.isFull();
+    }
+
+    @Override
+    public void reset() {
+        deque.reset();
+    }
+}
@@ -0,0 +1,100 @@
+package tslib.movingaverage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rolling quantile over a sliding window, e.g. the rolling median.
+ *
+ * The window is kept in an order-statistic tree, so each point costs expected
+ * O(log window) to insert the new value, evict the oldest one and select the ranks.
+ * Quantiles interpolate linearly between the two closest ranks: with the window sorted
+ * as x[0..w), the q-quantile is x[h] + (h - floor(h)) (x[h + 1] - x[h]) at h = (w - 1) q,
+ * so the median of an even window is the mean of its two middle values.
+ *
+ * Example usage:
+ *   RollingQuantile median = RollingQuantile.median(10_000);
+ *   double value = median.push(sample);
+ *
+ * Returns `null` (`NaN` from push) for the first (window - 1) elements, until the window is full.
+ */
+public class RollingQuantile implements MovingAverage {
+
+    private final int window;
+    private final double quantile;
+    private final int lowerRank;
+    private final double fraction;
+    private final OrderStatisticTree tree;
+    private long count;
+
+    /**
+     * @param window number of points in the window
+     * @param quantile probability in [0, 1]; 0.5 is the median
+     */
+    public RollingQuantile(int window, double quantile) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be a positive integer!");
+        }
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1].");
+        }
+        this.window = window;
+        this.quantile = quantile;
+        double h = (window - 1) * quantile;
+        this.lowerRank = (int) Math.floor(h);
+        this.fraction = h - lowerRank;
+        this.tree = new OrderStatisticTree(window);
+    }
+
+    public static RollingQuantile median(int window) {
+        return new RollingQuantile(window, 0.5);
+    }
+
+    public double getQuantile() {
+        return quantile;
+    }
+
+    @Override
+    public List<Double> compute(List<Double> data) {
+        if (data == null || data.isEmpty()) return List.of();
+
+        List<Double> result = new ArrayList<>(data.size());
+        reset();
+
+        for (double value : data) {
+            double q = push(value);
+            result.add(isReady() ? q : null);
+        }
+        return result;
+    }
+
+    @Override
+    public double push(double value) {
+        // The new value takes the node of the one it evicts from the window
+        int node = (int) (count % window) + 1;
+        if (count >= window) {
+            tree.remove(node);
+        }
+        tree.insert(node, value, count++);
+        return isReady() ? current() : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= window;
+    }
+
+    @Override
+    public void reset() {
+        tree.clear();
+        count = 0;
+    }
+
+    private double current() {
+        double lower = tree.select(lowerRank);
+        if (fraction == 0.0) {
+            return lower;
+        }
+        return lower + fraction * (tree.select(lowerRank + 1) - lower);
+    }
+}
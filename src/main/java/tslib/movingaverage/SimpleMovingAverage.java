@@ -1,10 +1,11 @@
 package tslib.movingaverage;
 
-import java.util.ArrayDeque;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
+import tslib.util.Snapshottable;
+
 /**
  * Simple Moving Average (SMA) calculator.
  * Computes the average of a sliding window over a numeric series.
@@ -14,22 +15,37 @@ import java.util.List;
  *   List<Double> result = sma.compute(data);
  *
  * Returns `null` for the first (period - 1) elements, until the window is full.
+ * The window is a primitive ring buffer, so adding a value neither boxes nor allocates.
+ * Long-lived instances can opt into a compensated running sum, which does not drift
+ * over billions of updates, at the cost of a few extra flops per point.
  *
  * Author: navdeep
  */
-public class SimpleMovingAverage implements MovingAverage {
+public class SimpleMovingAverage implements MovingAverage, Snapshottable {
 
-    private final Deque<Double> window;
+    private final double[] window;
     private final int period;
+    private int head;
+    private int count;
     private double sum;
+    private final CompensatedSum compensatedSum;
 
     public SimpleMovingAverage(int period) {
+        this(period, false);
+    }
+
+    /**
+     * @param period number of points in the window
+     * @param compensated whether to keep the running sum with Neumaier compensation
+     */
+    public SimpleMovingAverage(int period, boolean compensated) {
         if (period <= 0) {
             throw new IllegalArgumentException("Period must be a positive integer!");
         }
         this.period = period;
-        this.window = new ArrayDeque<>(period);
+        this.window = new double[period];
         this.sum = 0.0;
+        this.compensatedSum = compensated ? new CompensatedSum() : null;
     }
 
     /**
@@ -48,7 +64,7 @@ public class SimpleMovingAverage implements MovingAverage {
 
         for (double value : data) {
             add(value);
-            if (window.size() < period) {
+            if (count < period) {
                 maData.add(null); // Not enough data yet
             } else {
                 maData.add(getAverage());
@@ -57,14 +73,38 @@ public class SimpleMovingAverage implements MovingAverage {
         return maData;
     }
 
+    @Override
+    public double push(double value) {
+        add(value);
+        return (count < period) ? Double.NaN : getAverage();
+    }
+
+    @Override
+    public boolean isReady() {
+        return count == period;
+    }
+
     /**
      * Adds a new number to the window and updates the rolling sum.
      */
     public void add(double value) {
-        sum += value;
-        window.addLast(value);
-        if (window.size() > period) {
-            sum -= window.removeFirst();
+        if (compensatedSum != null) {
+            compensatedSum.add(value);
+            if (count == period) {
+                compensatedSum.add(-window[head]);
+            }
+        } else {
+            sum += value;
+            if (count == period) {
+                sum -= window[head]; // oldest value leaves the window
+            }
+        }
+        if (count < period) {
+            count++;
+        }
+        window[head] = value;
+        if (++head == period) {
+            head = 0;
         }
     }
 
@@ -72,7 +112,40 @@ public class SimpleMovingAverage implements MovingAverage {
      * Returns the current average of the window.
      */
     private double getAverage() {
-        return sum / period;
+        return ((compensatedSum != null) ? compensatedSum.value() : sum) / period;
+    }
+
+    /**
+     * The ring is written as is, head included, so a restored instance continues bit for bit.
+     */
+    @Override
+    public int snapshotSize() {
+        return 21 + 8 * period + ((compensatedSum != null) ? CompensatedSum.SNAPSHOT_SIZE : 0);
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.putInt(period).put((byte) ((compensatedSum != null) ? 1 : 0));
+        out.putInt(head).putInt(count).putDouble(sum);
+        if (compensatedSum != null) {
+            compensatedSum.snapshot(out);
+        }
+        out.asDoubleBuffer().put(window);
+        out.position(out.position() + 8 * period);
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        Snapshottable.checkMatch(in.getInt(), period);
+        Snapshottable.checkMatch(in.get(), (compensatedSum != null) ? 1 : 0);
+        head = in.getInt();
+        count = in.getInt();
+        sum = in.getDouble();
+        if (compensatedSum != null) {
+            compensatedSum.restore(in);
+        }
+        in.asDoubleBuffer().get(window);
+        in.position(in.position() + 8 * period);
     }
 
     /**
@@ -80,7 +153,11 @@ public class SimpleMovingAverage implements MovingAverage {
      */
     @Override
     public void reset() {
-        window.clear();
+        head = 0;
+        count = 0;
         sum = 0.0;
+        if (compensatedSum != null) {
+            compensatedSum.reset();
+        }
     }
 }
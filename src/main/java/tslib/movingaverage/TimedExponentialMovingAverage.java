@@ -0,0 +1,70 @@
+package tslib.movingaverage;
+
+import java.time.Duration;
+
+/**
+ * Exponential moving average with time-based decay, for irregularly spaced points.
+ *
+ * Each point's weight decays as exp(-age / tau), and the average is the weighted mean
+ * of all points so far: both the weighted sum and the total weight are scaled by
+ * exp(-dt / tau) when a point arrives dt after the previous one. Points in a burst
+ * therefore each count fully, and a long gap lets older points fade as time passes.
+ * With a fixed spacing dt this converges to an EMA with alpha = 1 - exp(-dt / tau).
+ * The half-life of a point's weight is tau ln 2.
+ *
+ * Example usage:
+ *   TimedExponentialMovingAverage ema = new TimedExponentialMovingAverage(Duration.ofSeconds(30));
+ *   double value = ema.push(timestampNanos, reading);
+ */
+public class TimedExponentialMovingAverage implements TimedMovingAverage {
+
+    private final double tauNanos;
+    private double weightedSum;
+    private double weight;
+    private long lastTimestamp;
+    private long lastDelta = -1;
+    private double lastDecay;
+
+    /**
+     * @param tau time constant of the decay
+     */
+    public TimedExponentialMovingAverage(Duration tau) {
+        if (tau == null || tau.isNegative() || tau.isZero()) {
+            throw new IllegalArgumentException("Time constant must be positive.");
+        }
+        this.tauNanos = tau.toNanos();
+    }
+
+    @Override
+    public double push(long timestampNanos, double value) {
+        if (weight > 0) {
+            long delta = timestampNanos - lastTimestamp;
+            if (delta < 0) {
+                throw new IllegalArgumentException("Timestamps must not decrease.");
+            }
+            // Regularly spaced points reuse the previous decay factor
+            if (delta != lastDelta) {
+                lastDelta = delta;
+                lastDecay = Math.exp(-delta / tauNanos);
+            }
+            weightedSum *= lastDecay;
+            weight *= lastDecay;
+        }
+        weightedSum += value;
+        weight += 1.0;
+        lastTimestamp = timestampNanos;
+        return weightedSum / weight;
+    }
+
+    @Override
+    public boolean isReady() {
+        return weight > 0;
+    }
+
+    @Override
+    public void reset() {
+        weightedSum = 0.0;
+        weight = 0.0;
+        lastDelta = -1;
+    }
+}
@@ -0,0 +1,46 @@
+package tslib.movingaverage;
+
+import java.util.Objects;
+
+/**
+ * Moving average over irregularly sampled points, driven by their timestamps.
+ *
+ * Decay and windows are measured in time rather than in points, so telemetry that arrives
+ * in bursts or with gaps can be smoothed directly instead of being resampled to a regular
+ * grid first. Timestamps are nanoseconds on any clock and must not decrease.
+ *
+ * Example usage:
+ *   TimedMovingAverage ema = new TimedExponentialMovingAverage(Duration.ofSeconds(30));
+ *   double value = ema.push(System.nanoTime(), reading);
+ */
+public interface TimedMovingAverage {
+
+    /**
+     * Adds a point and returns the updated average.
+     * @param timestampNanos time of the point, not earlier than the previous one
+     * @param value the observation
+     * @return current average, or {@code NaN} while {@link #isReady()} is false
+     */
+    double push(long timestampNanos, double value);
+
+    /**
+     * @return whether enough time has been covered for the average to be defined
+     */
+    boolean isReady();
+
+    void reset();
+
+    /**
+     * Resets, then pushes {@code length} points and writes each returned value to {@code out}.
+     */
+    default void compute(long[] timestampsNanos, double[] values, int offset, int length,
+                         double[] out, int outOffset) {
+        Objects.checkFromIndexSize(offset, length, timestampsNanos.length);
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+        reset();
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = push(timestampsNanos[offset + i], values[offset + i]);
+        }
+    }
+}
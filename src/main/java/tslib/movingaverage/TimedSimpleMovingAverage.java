@@ -0,0 +1,110 @@
+package tslib.movingaverage;
+
+import java.time.Duration;
+
+/**
+ * Simple moving average over a time window, for irregularly spaced points.
+ *
+ * Averages the points whose timestamps lie in (t - window, t], where t is the latest
+ * timestamp. Points are kept in a primitive ring of timestamps and values that doubles
+ * when a burst outgrows it, so steady streams do not allocate. The running sum restarts
+ * from zero whenever the window empties.
+ *
+ * Example usage:
+ *   TimedSimpleMovingAverage sma = new TimedSimpleMovingAverage(Duration.ofMinutes(5));
+ *   double value = sma.push(timestampNanos, reading);
+ *
+ * Returns `NaN` until the points pushed span at least one full window.
+ */
+public class TimedSimpleMovingAverage implements TimedMovingAverage {
+
+    private final long windowNanos;
+    private long[] timestamps;
+    private double[] values;
+    private int head;
+    private int size;
+    private double sum;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private boolean started;
+
+    /**
+     * @param window length of the time window
+     */
+    public TimedSimpleMovingAverage(Duration window) {
+        if (window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive.");
+        }
+        this.windowNanos = window.toNanos();
+        this.timestamps = new long[16];
+        this.values = new double[16];
+    }
+
+    @Override
+    public double push(long timestampNanos, double value) {
+        if (!started) {
+            started = true;
+            firstTimestamp = timestampNanos;
+        } else if (timestampNanos < lastTimestamp) {
+            throw new IllegalArgumentException("Timestamps must not decrease.");
+        }
+        lastTimestamp = timestampNanos;
+
+        long cutoff = timestampNanos - windowNanos;
+        while (size > 0 && timestamps[head] <= cutoff) {
+            sum -= values[head];
+            head = (head + 1 == timestamps.length) ? 0 : head + 1;
+            size--;
+        }
+        if (size == 0) {
+            sum = 0.0;
+        }
+
+        if (size == timestamps.length) {
+            grow();
+        }
+        int tail = head + size;
+        if (tail >= timestamps.length) {
+            tail -= timestamps.length;
+        }
+        timestamps[tail] = timestampNanos;
+        values[tail] = value;
+        size++;
+        sum += value;
+
+        return isReady() ? sum / size : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return started && lastTimestamp - firstTimestamp >= windowNanos;
+    }
+
+    /**
+     * @return number of points currently in the window
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void reset() {
+        head = 0;
+        size = 0;
+        sum = 0.0;
+        started = false;
+    }
+
+    private void grow() {
+        long[] t = new long[timestamps.length * 2];
+        double[] v = new double[values.length * 2];
+        int firstPart = Math.min(size, timestamps.length - head);
+        System.arraycopy(timestamps, head, t, 0, firstPart);
+        System.arraycopy(values, head, v, 0, firstPart);
+        System.arraycopy(timestamps, 0, t, firstPart, size - firstPart);
+        System.arraycopy(values, 0, v, firstPart, size - firstPart);
+        timestamps = t;
+        values = v;
+        head = 0;
+    }
+}
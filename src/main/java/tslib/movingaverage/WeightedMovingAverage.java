@@ -1,10 +1,11 @@
 package tslib.movingaverage;
 
-import java.util.ArrayDeque;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
+import tslib.util.Snapshottable;
+
 /**
  * Weighted Moving Average (WMA) calculator.
  * Computes the weighted average of a sliding window over a numeric series.
@@ -18,22 +19,47 @@ import java.util.List;
  * Weights are assigned linearly: most recent value gets weight 'period', 
  * second most recent gets weight 'period-1', etc.
  *
+ * The window is a primitive ring buffer. A running sum and a running weighted sum
+ * are updated as values enter and leave, so each point costs O(1) regardless of period:
+ * sliding the window lowers every weight by one, i.e. subtracts the window sum.
+ * Both sums are recomputed from the ring each time it wraps around, which bounds
+ * rounding drift to one window of updates at an amortized O(1) cost. Latency-sensitive
+ * or long-lived instances can instead keep both sums compensated, which keeps them
+ * accurate without ever rescanning the window.
+ *
  * Author: navdeep
  */
-public class WeightedMovingAverage implements MovingAverage {
+public class WeightedMovingAverage implements MovingAverage, Snapshottable {
 
-    private final Deque<Double> window;
+    private final double[] window;
     private final int period;
     private final double weightSum;
+    private int head;
+    private int count;
+    private double sum;
+    private double weightedSum;
+    private final CompensatedSum compensatedSum;
+    private final CompensatedSum compensatedWeightedSum;
 
     public WeightedMovingAverage(int period) {
+        this(period, false);
+    }
+
+    /**
+     * @param period number of points in the window
+     * @param compensated whether to keep both running sums with Neumaier compensation
+     *                    instead of recomputing them once per window
+     */
+    public WeightedMovingAverage(int period, boolean compensated) {
         if (period <= 0) {
             throw new IllegalArgumentException("Period must be a positive integer!");
         }
         this.period = period;
-        this.window = new ArrayDeque<>(period);
+        this.window = new double[period];
         // Calculate sum of weights: 1 + 2 + 3 + ... + period = period * (period + 1) / 2
         this.weightSum = period * (period + 1) / 2.0;
+        this.compensatedSum = compensated ? new CompensatedSum() : null;
+        this.compensatedWeightedSum = compensated ? new CompensatedSum() : null;
     }
 
     /**
@@ -52,7 +78,7 @@ public class WeightedMovingAverage implements MovingAverage {
 
         for (double value : data) {
             add(value);
-            if (window.size() < period) {
+            if (count < period) {
                 maData.add(null); // Not enough data yet
             } else {
                 maData.add(getWeightedAverage());
@@ -61,37 +87,130 @@ public class WeightedMovingAverage implements MovingAverage {
         return maData;
     }
 
+    @Override
+    public double push(double value) {
+        add(value);
+        return (count < period) ? Double.NaN : getWeightedAverage();
+    }
+
+    @Override
+    public boolean isReady() {
+        return count == period;
+    }
+
     /**
      * Adds a new number to the window.
      */
     public void add(double value) {
-        window.addLast(value);
-        if (window.size() > period) {
-            window.removeFirst();
+        if (compensatedSum != null) {
+            addCompensated(value);
+            return;
+        }
+        if (count == period) {
+            weightedSum += period * value - sum;
+            sum += value - window[head];
+        } else {
+            weightedSum += ++count * value;
+            sum += value;
+        }
+        window[head] = value;
+        if (++head == period) {
+            head = 0;
+            if (count == period) {
+                reanchor();
+            }
+        }
+    }
+
+    private void addCompensated(double value) {
+        if (count == period) {
+            compensatedWeightedSum.addProduct(period, value);
+            compensatedWeightedSum.subtract(compensatedSum);
+            compensatedSum.add(value);
+            compensatedSum.add(-window[head]);
+        } else {
+            compensatedWeightedSum.addProduct(++count, value);
+            compensatedSum.add(value);
+        }
+        window[head] = value;
+        if (++head == period) {
+            head = 0;
         }
     }
 
+    /**
+     * Recomputes both sums from the ring; with head at 0 the oldest value sits at index 0.
+     */
+    private void reanchor() {
+        double s = 0.0;
+        double w = 0.0;
+        for (int i = 0; i < period; i++) {
+            s += window[i];
+            w += (i + 1) * window[i];
+        }
+        sum = s;
+        weightedSum = w;
+    }
+
     /**
      * Returns the current weighted average of the window.
      * Most recent value gets weight 'period', second most recent gets weight 'period-1', etc.
      */
     private double getWeightedAverage() {
-        double weightedSum = 0.0;
-        int weight = 1;
-        
-        for (double value : window) {
-            weightedSum += value * weight;
-            weight++;
+        if (compensatedWeightedSum != null) {
+            return compensatedWeightedSum.value() / weightSum;
         }
-        
         return weightedSum / weightSum;
     }
 
+    /**
+     * The ring is written as is, head included, so a restored instance continues bit for bit.
+     */
+    @Override
+    public int snapshotSize() {
+        return 29 + 8 * period + ((compensatedSum != null) ? 2 * CompensatedSum.SNAPSHOT_SIZE : 0);
+    }
+
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.putInt(period).put((byte) ((compensatedSum != null) ? 1 : 0));
+        out.putInt(head).putInt(count).putDouble(sum).putDouble(weightedSum);
+        if (compensatedSum != null) {
+            compensatedSum.snapshot(out);
+            compensatedWeightedSum.snapshot(out);
+        }
+        out.asDoubleBuffer().put(window);
+        out.position(out.position() + 8 * period);
+    }
+
+    @Override
+    public void restore(ByteBuffer in) {
+        Snapshottable.checkMatch(in.getInt(), period);
+        Snapshottable.checkMatch(in.get(), (compensatedSum != null) ? 1 : 0);
+        head = in.getInt();
+        count = in.getInt();
+        sum = in.getDouble();
+        weightedSum = in.getDouble();
+        if (compensatedSum != null) {
+            compensatedSum.restore(in);
+            compensatedWeightedSum.restore(in);
+        }
+        in.asDoubleBuffer().get(window);
+        in.position(in.position() + 8 * period);
+    }
+
     /**
      * Resets the moving average state.
      */
     @Override
     public void reset() {
-        window.clear();
+        head = 0;
+        count = 0;
+        sum = 0.0;
+        weightedSum = 0.0;
+        if (compensatedSum != null) {
+            compensatedSum.reset();
+            compensatedWeightedSum.reset();
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,66 @@
+package tslib.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Fork/join reduction over fixed-size chunks of a range.
+ *
+ * The range is halved at chunk boundaries down to single chunks, and partial results are
+ * merged left to right up the same tree. The tree depends only on the length and the chunk
+ * size, so the result is the same bit for bit whatever the pool size or scheduling.
+ */
+final class Chunks {
+
+    private Chunks() {
+    }
+
+    @FunctionalInterface
+    interface Leaf<T> {
+        /**
+         * @param from  start of the chunk, relative to the start of the range
+         * @param length number of values in the chunk
+         */
+        T compute(int from, int length);
+    }
+
+    static <T> T reduce(ForkJoinPool pool, int length, int chunk, Leaf<T> leaf, BinaryOperator<T> merge) {
+        if (length <= chunk) {
+            return leaf.compute(0, length);
+        }
+        return pool.invoke(new Task<>(leaf, merge, chunk, 0, length));
+    }
+
+    private static final class Task<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Leaf<T> leaf;
+        private final BinaryOperator<T> merge;
+        private final int chunk;
+        private final int from;
+        private final int length;
+
+        Task(Leaf<T> leaf, BinaryOperator<T> merge, int chunk, int from, int length) {
+            this.leaf = leaf;
+            this.merge = merge;
+            this.chunk = chunk;
+            this.from = from;
+            this.length = length;
+        }
+
+        @Override
+        protected T compute() {
+            if (length <= chunk) {
+                return leaf.compute(from, length);
+            }
+            int chunks = (int) (((long) length + chunk - 1) / chunk);
+            int left = (chunks / 2) * chunk;
+            Task<T> right = new Task<>(leaf, merge, chunk, from + left, length - left);
+            right.fork();
+            T result = new Task<>(leaf, merge, chunk, from, left).compute();
+            return merge.apply(result, right.join());
+        }
+    }
+}
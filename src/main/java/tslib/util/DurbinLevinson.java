@@ -0,0 +1,98 @@
+package tslib.util;
+
+import java.util.Arrays;
+
+/**
+ * Durbin-Levinson recursion on an autocorrelation vector.
+ *
+ * Solves the Yule-Walker equations for AR orders 1 to {@code maxLag} in O(maxLag^2) total,
+ * reusing the order k - 1 coefficients for order k instead of solving a new k x k system.
+ * The partial autocorrelation at lag k is the last coefficient of the order-k fit. Only
+ * two coefficient vectors are kept, so no per-order matrices are allocated.
+ *
+ * Autocorrelations that divide by {@code n - k}, as {@link Stats} computes them, need not be
+ * positive definite, so a prediction error variance can turn negative; the Yule-Walker
+ * systems are still solvable and the recursion carries on. Only when the order-k system is
+ * singular (a zero variance, as for a constant series) does it stop, and that and all later
+ * values are {@code NaN}, as the per-lag LU solves in {@link Stats} reported them.
+ *
+ * Example usage:
+ *   DurbinLevinson fit = DurbinLevinson.fit(Autocorrelation.acf(series, 20), 20);
+ *   double[] pacf = fit.pacf();
+ *   double[] phi = fit.arCoefficients();   // AR(20): y[t] ~ phi[0] y[t-1] + ... + phi[19] y[t-20]
+ */
+public final class DurbinLevinson {
+
+    private final double[] pacf;
+    private final double[] arCoefficients;
+    private final double[] predictionErrors;
+
+    private DurbinLevinson(int maxLag) {
+        this.pacf = new double[maxLag + 1];
+        this.arCoefficients = new double[maxLag];
+        this.predictionErrors = new double[maxLag + 1];
+    }
+
+    /**
+     * @param acf    autocorrelations (or autocovariances) at lags {@code 0 .. maxLag}
+     * @param maxLag highest AR order to fit
+     */
+    public static DurbinLevinson fit(double[] acf, int maxLag) {
+        if (maxLag < 0) throw new IllegalArgumentException("Max lag must be >= 0");
+        if (acf == null || acf.length <= maxLag) {
+            throw new IllegalArgumentException("Need autocorrelations at lags 0 to " + maxLag + ".");
+        }
+
+        DurbinLevinson result = new DurbinLevinson(maxLag);
+        double[] phi = result.arCoefficients;
+        double[] previous = new double[maxLag];
+        result.pacf[0] = 1.0;
+        double v = acf[0];
+        result.predictionErrors[0] = v;
+
+        for (int k = 1; k <= maxLag; k++) {
+            if (v == 0 || !Double.isFinite(v)) {
+                Arrays.fill(result.pacf, k, maxLag + 1, Double.NaN);
+                Arrays.fill(result.predictionErrors, k, maxLag + 1, Double.NaN);
+                Arrays.fill(phi, Double.NaN);
+                return result;
+            }
+            double numerator = acf[k];
+            for (int j = 1; j < k; j++) {
+                numerator -= previous[j - 1] * acf[k - j];
+            }
+            double reflection = numerator / v;
+            for (int j = 1; j < k; j++) {
+                phi[j - 1] = previous[j - 1] - reflection * previous[k - j - 1];
+            }
+            phi[k - 1] = reflection;
+            System.arraycopy(phi, 0, previous, 0, k);
+
+            v *= 1 - reflection * reflection;
+            result.pacf[k] = reflection;
+            result.predictionErrors[k] = v;
+        }
+        return result;
+    }
+
+    /**
+     * @return partial autocorrelations at lags {@code 0 .. maxLag}, with 1 at lag 0
+     */
+    public double[] pacf() {
+        return pacf;
+    }
+
+    /**
+     * @return coefficients {@code phi[0..maxLag)} of the order-{@code maxLag} Yule-Walker AR fit
+     */
+    public double[] arCoefficients() {
+        return arCoefficients;
+    }
+
+    /**
+     * @return one-step prediction error variance of each order, in the units of {@code acf[0]}
+     */
+    public double[] predictionErrors() {
+        return predictionErrors;
+    }
+}
@@ -0,0 +1,197 @@
+package tslib.util;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link Stats} for series much larger than the caches, computed in parallel.
+ *
+ * The range is split into chunks of {@code chunkSize} values, each handled by one fork/join
+ * task, and the partial results are merged left to right in a binary tree fixed by the length
+ * and the chunk size alone. Results are therefore the same bit for bit on any pool and thread
+ * count; they can differ from the sequential {@link Stats} methods in the last bits.
+ *
+ * The mean, variance and extremes come from one pass of per-chunk {@link SeriesSummary}
+ * results. Autocovariances take a second pass about that mean: every requested lag is swept
+ * over a chunk while it is still in L2, so the series is streamed from memory once per call
+ * rather than once per lag.
+ *
+ * Example usage:
+ *   ParallelStats stats = new ParallelStats();
+ *   double var = stats.variance(series, 0, series.length);
+ *   double[] acov = stats.getAutoCovariances(series, 0, series.length, 1, 7, 365);
+ */
+public class ParallelStats {
+
+    /**
+     * Default number of values per chunk: 256 KiB of doubles, which stays resident in a
+     * typical per-core L2 while every lag is swept over it.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 15;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Uses the common fork/join pool.
+     */
+    public ParallelStats() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool runs the chunk tasks
+     * @param chunkSize number of values handled by one task
+     */
+    public ParallelStats(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive integer!");
+        }
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.chunkSize = chunkSize;
+    }
+
+    public SeriesSummary summarize(double[] data, int offset, int length) {
+        validateNonEmpty(data, offset, length);
+        return SeriesSummary.parallel(data, offset, length, pool, chunkSize);
+    }
+
+    /**
+     * Summarizes the buffer's remaining values without moving its position.
+     */
+    public SeriesSummary summarize(DoubleBuffer data) {
+        validateNonEmpty(data);
+        if (data.hasArray()) {
+            return summarize(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        return SeriesSummary.parallel(data, pool, chunkSize);
+    }
+
+    public double average(double[] data, int offset, int length) {
+        return summarize(data, offset, length).mean();
+    }
+
+    public double average(DoubleBuffer data) {
+        return summarize(data).mean();
+    }
+
+    public double variance(double[] data, int offset, int length) {
+        return summarize(data, offset, length).variance();
+    }
+
+    public double variance(DoubleBuffer data) {
+        return summarize(data).variance();
+    }
+
+    /**
+     * @return {min, max}
+     */
+    public double[] getMinMax(double[] data, int offset, int length) {
+        SeriesSummary summary = summarize(data, offset, length);
+        return new double[]{summary.min(), summary.max()};
+    }
+
+    /**
+     * @return {min, max}
+     */
+    public double[] getMinMax(DoubleBuffer data) {
+        SeriesSummary summary = summarize(data);
+        return new double[]{summary.min(), summary.max()};
+    }
+
+    /**
+     * Autocovariances at the given lags, as {@link Stats#getAutoCovariance(double[], int, int, int)}
+     * computes each of them.
+     *
+     * @return {@code acov[j]} for lag {@code lags[j]}
+     */
+    public double[] getAutoCovariances(double[] data, int offset, int length, int... lags) {
+        validateNonEmpty(data, offset, length);
+        validateLags(lags);
+        double mean = average(data, offset, length);
+        double[] sums = Chunks.reduce(pool, length, chunkSize,
+                (from, size) -> laggedSums(data, offset, from, size, mean, lags), ParallelStats::add);
+        return scale(sums, length, lags);
+    }
+
+    /**
+     * Autocovariances of the buffer's remaining values at the given lags. Each task copies
+     * its chunk, plus the values its largest lag reaches back to, into a scratch array.
+     */
+    public double[] getAutoCovariances(DoubleBuffer data, int... lags) {
+        validateNonEmpty(data);
+        if (data.hasArray()) {
+            return getAutoCovariances(data.array(), data.arrayOffset() + data.position(), data.remaining(), lags);
+        }
+        validateLags(lags);
+        int start = data.position();
+        int length = data.remaining();
+        int reach = 0;
+        for (int k : lags) {
+            reach = Math.max(reach, Math.min(k, length));
+        }
+        int maxReach = reach;
+        double mean = average(data);
+        double[] sums = Chunks.reduce(pool, length, chunkSize, (from, size) -> {
+            int window = Math.max(0, from - maxReach);
+            double[] scratch = new double[from + size - window];
+            data.get(start + window, scratch, 0, scratch.length);
+            return laggedSums(scratch, -window, from, size, mean, lags);
+        }, ParallelStats::add);
+        return scale(sums, length, lags);
+    }
+
+    /**
+     * Sums of {@code (x[i - k] - mean)(x[i] - mean)} for {@code i} in {@code [from, from + size)},
+     * with {@code x[i]} stored at {@code data[origin + i]}.
+     */
+    private static double[] laggedSums(double[] data, int origin, int from, int size, double mean, int[] lags) {
+        double[] sums = new double[lags.length];
+        int end = from + size;
+        for (int j = 0; j < lags.length; j++) {
+            int k = lags[j];
+            double total = 0.0;
+            for (int i = Math.max(from, k); i < end; i++) {
+                total += (data[origin + i - k] - mean) * (data[origin + i] - mean);
+            }
+            sums[j] = total;
+        }
+        return sums;
+    }
+
+    private static double[] add(double[] left, double[] right) {
+        for (int j = 0; j < left.length; j++) {
+            left[j] += right[j];
+        }
+        return left;
+    }
+
+    private static double[] scale(double[] sums, int length, int[] lags) {
+        for (int j = 0; j < lags.length; j++) {
+            int k = lags[j];
+            sums[j] = (k >= length) ? 0 : sums[j] / (length - k);
+        }
+        return sums;
+    }
+
+    private static void validateLags(int[] lags) {
+        Objects.requireNonNull(lags, "lags");
+        for (int k : lags) {
+            if (k < 0) throw new IllegalArgumentException("Lag k must be >= 0");
+        }
+    }
+
+    private static void validateNonEmpty(double[] data, int offset, int length) {
+        if (data == null || length == 0) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+    }
+
+    private static void validateNonEmpty(DoubleBuffer data) {
+        if (data == null || !data.hasRemaining()) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package tslib.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Mergeable summary of a series: count, mean, variance, min, max and, optionally,
+ * autocovariances up to a fixed lag.
+ *
+ * Values are folded in one at a time with Welford's update; {@link #combine(RunningStats)}
+ * merges the summary of the partition that directly follows this one with the pairwise
+ * formulas of Chan et al., so a long series can be split across workers and the partial
+ * results reduced afterwards. Lagged co-moments are kept about the partition's first value
+ * together with its first and last {@code maxLag} observations, which is enough to add the
+ * products that straddle a partition boundary when merging.
+ *
+ * Every operation is a fixed sequence of floating-point steps, so the result depends only
+ * on how the partitions are grouped, never on timing. {@link #reduce(List)} always merges
+ * in the same balanced tree over the list order, so parallel reductions that follow it
+ * reproduce the result bit for bit.
+ *
+ * The estimators match {@link Stats}: {@link #variance()} is the sample variance and
+ * {@link #autoCovariance(int)} divides by {@code n - k}.
+ *
+ * Example usage:
+ *   RunningStats left = RunningStats.of(data, 0, half, 10);
+ *   RunningStats right = RunningStats.of(data, half, data.length - half, 10);
+ *   double acf3 = left.combine(right).autoCorrelation(3);
+ */
+public class RunningStats {
+
+    private final int maxLag;
+    private final double[] head;
+    private final double[] tail;
+    private final double[] lagged;
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private double shift;
+    private double shiftedSum;
+
+    public RunningStats() {
+        this(0);
+    }
+
+    /**
+     * @param maxLag largest lag for which {@link #autoCovariance(int)} is available
+     */
+    public RunningStats(int maxLag) {
+        if (maxLag < 0) {
+            throw new IllegalArgumentException("Max lag must be >= 0");
+        }
+        this.maxLag = maxLag;
+        this.head = new double[maxLag];
+        this.tail = new double[maxLag];
+        this.lagged = new double[maxLag + 1];
+    }
+
+    /**
+     * Summarizes {@code data[offset .. offset + length)}.
+     */
+    public static RunningStats of(double[] data, int offset, int length, int maxLag) {
+        return new RunningStats(maxLag).addAll(data, offset, length);
+    }
+
+    /**
+     * Merges the partitions in a balanced binary tree over the list order.
+     *
+     * @param parts summaries of consecutive partitions, in series order; left unchanged
+     * @return a new summary of the whole series
+     */
+    public static RunningStats reduce(List<RunningStats> parts) {
+        if (parts == null || parts.isEmpty()) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        return reduce(parts, 0, parts.size());
+    }
+
+    private static RunningStats reduce(List<RunningStats> parts, int from, int to) {
+        if (to - from == 1) {
+            return parts.get(from).copy();
+        }
+        int mid = (from + to) >>> 1;
+        return reduce(parts, from, mid).combine(reduce(parts, mid, to));
+    }
+
+    public RunningStats add(double x) {
+        if (count == 0) {
+            shift = x;
+            min = x;
+            max = x;
+        } else {
+            if (x < min) min = x;
+            if (x > max) max = x;
+        }
+        double u = x - shift;
+        int lags = (int) Math.min(maxLag, count);
+        for (int k = 1; k <= lags; k++) {
+            lagged[k] += (tail[slot(count - k)] - shift) * u;
+        }
+        if (count < maxLag) {
+            head[(int) count] = x;
+        }
+        if (maxLag > 0) {
+            tail[slot(count)] = x;
+        }
+        shiftedSum += u;
+
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+        return this;
+    }
+
+    public RunningStats addAll(double[] data, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        for (int i = offset; i < offset + length; i++) {
+            add(data[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Merges in the summary of the partition that immediately follows this one.
+     *
+     * @param next summary of the following partition, built with the same max lag; left unchanged
+     * @return this summary, now covering both partitions
+     */
+    public RunningStats combine(RunningStats next) {
+        if (next.maxLag != maxLag) {
+            throw new IllegalArgumentException("Cannot combine summaries with different max lags.");
+        }
+        if (next.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            copyFrom(next);
+            return this;
+        }
+
+        long n1 = count;
+        long n2 = next.count;
+        long n = n1 + n2;
+
+        // Lagged co-moments of the next partition, re-expressed about this partition's shift
+        double e = next.shift - shift;
+        double headSum = 0.0;
+        double tailSum = 0.0;
+        for (int k = 1; k <= maxLag; k++) {
+            if (k <= n2) {
+                headSum += next.head[k - 1] - next.shift;
+                tailSum += next.tail[next.slot(n2 - k)] - next.shift;
+            }
+            double lead = next.shiftedSum - tailSum;
+            double lag = next.shiftedSum - headSum;
+            double within = next.lagged[k] + e * (lead + lag) + Math.max(0, n2 - k) * e * e;
+
+            // Pairs with the earlier value here and the later one in the next partition
+            double across = 0.0;
+            for (int i = 1; i <= Math.min(k, n1); i++) {
+                int j = k - i;
+                if (j < n2) {
+                    across += (tail[slot(n1 - i)] - shift) * (next.head[j] - shift);
+                }
+            }
+            lagged[k] += within + across;
+        }
+
+        for (int j = 0; j < n2 && n1 + j < maxLag; j++) {
+            head[(int) (n1 + j)] = next.head[j];
+        }
+        for (long t = Math.max(0, n2 - maxLag); t < n2; t++) {
+            tail[slot(n1 + t)] = next.tail[next.slot(t)];
+        }
+        shiftedSum += next.shiftedSum + n2 * e;
+
+        double delta = next.mean - mean;
+        mean += delta * n2 / n;
+        m2 += next.m2 + delta * delta * n1 / n * n2;
+        if (next.min < min) min = next.min;
+        if (next.max > max) max = next.max;
+        count = n;
+        return this;
+    }
+
+    public RunningStats copy() {
+        RunningStats copy = new RunningStats(maxLag);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    private void copyFrom(RunningStats other) {
+        System.arraycopy(other.head, 0, head, 0, maxLag);
+        System.arraycopy(other.tail, 0, tail, 0, maxLag);
+        System.arraycopy(other.lagged, 0, lagged, 0, maxLag + 1);
+        count = other.count;
+        mean = other.mean;
+        m2 = other.m2;
+        min = other.min;
+        max = other.max;
+        shift = other.shift;
+        shiftedSum = other.shiftedSum;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public int maxLag() {
+        return maxLag;
+    }
+
+    /**
+     * @return the mean, or {@code NaN} when empty
+     */
+    public double mean() {
+        return (count == 0) ? Double.NaN : mean;
+    }
+
+    /**
+     * @return the sample variance; {@code 0} for one value, {@code NaN} when empty
+     */
+    public double variance() {
+        if (count == 0) return Double.NaN;
+        return (count == 1) ? 0.0 : m2 / (count - 1);
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * @return the smallest value, or {@code NaN} when empty
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * @return the largest value, or {@code NaN} when empty
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Autocovariance at lag {@code k}, as {@link Stats#getAutoCovariance(List, int)} computes it.
+     */
+    public double autoCovariance(int k) {
+        if (k < 0) throw new IllegalArgumentException("Lag k must be >= 0");
+        if (k > maxLag) throw new IllegalArgumentException("Lag k must be <= " + maxLag);
+        if (count == 0) return Double.NaN;
+        if (k >= count) return 0;
+        if (k == 0) return m2 / count;
+
+        // Sum of (x[t-k] - s)(x[t] - s) re-centred on the mean: the leading terms miss the
+        // last k values and the trailing terms miss the first k
+        double headSum = 0.0;
+        double tailSum = 0.0;
+        for (int i = 1; i <= k; i++) {
+            headSum += head[i - 1] - shift;
+            tailSum += tail[slot(count - i)] - shift;
+        }
+        double d = mean - shift;
+        double centred = lagged[k] - d * ((shiftedSum - tailSum) + (shiftedSum - headSum)) + (count - k) * d * d;
+        return centred / (count - k);
+    }
+
+    /**
+     * Autocorrelation at lag {@code k}, as {@link Stats#getAutoCorrelation(List, int)} computes it.
+     */
+    public double autoCorrelation(int k) {
+        double acov = autoCovariance(k);
+        double var = variance();
+        return (var == 0) ? 0 : acov / var;
+    }
+
+    public void reset() {
+        Arrays.fill(lagged, 0.0);
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+        min = Double.NaN;
+        max = Double.NaN;
+        shift = 0.0;
+        shiftedSum = 0.0;
+    }
+
+    private int slot(long index) {
+        return (int) (index % maxLag);
+    }
+}
@@ -0,0 +1,127 @@
+package tslib.util;
+
+import java.util.Objects;
+
+/**
+ * A panel of equal-length time series stored in one contiguous array.
+ *
+ * Series are the columns and time steps the rows, so the observations of every
+ * series at time t sit next to each other at {@code values[t * seriesCount, (t + 1) * seriesCount)}.
+ * Kernels that advance all series one time step at a time therefore walk memory
+ * sequentially, and their inner loop over series can be vectorized.
+ */
+public final class SeriesPanel {
+
+    private final double[] values;
+    private final int seriesCount;
+    private final int length;
+
+    /**
+     * Allocates a zero-filled panel.
+     *
+     * @param seriesCount number of series (columns)
+     * @param length number of time steps (rows)
+     */
+    public SeriesPanel(int seriesCount, int length) {
+        this(new double[checkedSize(seriesCount, length)], seriesCount, length);
+    }
+
+    /**
+     * Wraps an existing array without copying.
+     *
+     * @param values panel values, at least {@code seriesCount * length} long
+     * @param seriesCount number of series (columns)
+     * @param length number of time steps (rows)
+     */
+    public SeriesPanel(double[] values, int seriesCount, int length) {
+        Objects.requireNonNull(values, "values");
+        if (values.length < checkedSize(seriesCount, length)) {
+            throw new IllegalArgumentException("Values array is smaller than seriesCount * length.");
+        }
+        this.values = values;
+        this.seriesCount = seriesCount;
+        this.length = length;
+    }
+
+    /**
+     * Builds a panel from equal-length series, one array per series.
+     *
+     * @param series the series to interleave
+     * @return a new panel
+     */
+    public static SeriesPanel fromSeries(double[][] series) {
+        if (series == null || series.length == 0) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        SeriesPanel panel = new SeriesPanel(series.length, series[0].length);
+        for (int s = 0; s < series.length; s++) {
+            if (series[s].length != panel.length) {
+                throw new IllegalArgumentException("All series must have the same length.");
+            }
+            panel.setSeries(s, series[s], 0);
+        }
+        return panel;
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    public int seriesCount() {
+        return seriesCount;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return position of observation {@code t} of {@code series} in {@link #values()}
+     */
+    public int index(int t, int series) {
+        return t * seriesCount + series;
+    }
+
+    public double get(int t, int series) {
+        return values[index(t, series)];
+    }
+
+    public void set(int t, int series, double value) {
+        values[index(t, series)] = value;
+    }
+
+    /**
+     * Copies one series out of the panel.
+     *
+     * @param series column to copy
+     * @param dst destination array, receives {@link #length()} values
+     * @param dstOffset index of the first value in {@code dst}
+     */
+    public void copySeries(int series, double[] dst, int dstOffset) {
+        Objects.checkIndex(series, seriesCount);
+        for (int t = 0, i = series; t < length; t++, i += seriesCount) {
+            dst[dstOffset + t] = values[i];
+        }
+    }
+
+    /**
+     * Overwrites one series of the panel.
+     *
+     * @param series column to write
+     * @param src source array, supplies {@link #length()} values
+     * @param srcOffset index of the first value in {@code src}
+     */
+    public void setSeries(int series, double[] src, int srcOffset) {
+        Objects.checkIndex(series, seriesCount);
+        for (int t = 0, i = series; t < length; t++, i += seriesCount) {
+            values[i] = src[srcOffset + t];
+        }
+    }
+
+    private static int checkedSize(int seriesCount, int length) {
+        if (seriesCount <= 0 || length < 0) {
+            throw new IllegalArgumentException("Series count must be positive and length non-negative.");
+        }
+        return Math.multiplyExact(seriesCount, length);
+    }
+}
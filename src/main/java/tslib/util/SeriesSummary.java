@@ -0,0 +1,284 @@
+package tslib.util;
+
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Count, mean, central moments up to the fourth, and min/max with their indices of a
+ * series, from one pass over a {@code double[]}.
+ *
+ * The data is read in blocks of {@value #BLOCK} values: the first sweep over a block takes
+ * its sum and extremes, the second its central moments about the block mean while it is
+ * still in L1, and the block is then merged into the running result with the pairwise
+ * update of Pebay (2008). Memory is therefore streamed once, and every inner loop is a
+ * plain sum without divisions.
+ *
+ * {@link #parallel} splits the range into chunks of {@value #CHUNK} values on a fork/join
+ * pool and merges the chunk results in a fixed binary tree. The tree depends only on the
+ * length, so the parallel result is the same bit for bit on any pool and thread count;
+ * it can differ from the sequential result in the last bits. Indices are relative to the
+ * start of the summarized range, and ties report the first occurrence, as
+ * {@link Stats#getMinimumIndex(java.util.List)} does.
+ *
+ * Example usage:
+ *   SeriesSummary summary = SeriesSummary.of(data);
+ *   double sd = summary.standardDeviation();
+ *   long peak = summary.maxIndex();
+ */
+public final class SeriesSummary {
+
+    static final int BLOCK = 1024;
+    static final int CHUNK = 1 << 16;
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double m3;
+    private double m4;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long minIndex = -1;
+    private long maxIndex = -1;
+
+    private SeriesSummary() {
+    }
+
+    public static SeriesSummary of(double[] data) {
+        Objects.requireNonNull(data, "data");
+        return of(data, 0, data.length);
+    }
+
+    public static SeriesSummary of(double[] data, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        SeriesSummary summary = new SeriesSummary();
+        summary.accumulate(data, offset, length);
+        return summary;
+    }
+
+    /**
+     * Summarizes the buffer's remaining values without moving its position. Direct and
+     * memory-mapped buffers are copied one block at a time into a small scratch array,
+     * never as a whole.
+     */
+    public static SeriesSummary of(DoubleBuffer data) {
+        Objects.requireNonNull(data, "data");
+        if (data.hasArray()) {
+            return of(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        SeriesSummary summary = new SeriesSummary();
+        SeriesSummary block = new SeriesSummary();
+        double[] scratch = new double[BLOCK];
+        int from = data.position();
+        int length = data.remaining();
+        for (int start = 0; start < length; start += BLOCK) {
+            int size = Math.min(BLOCK, length - start);
+            data.get(from + start, scratch, 0, size);
+            block.summarizeBlock(scratch, 0, size);
+            summary.combine(block);
+        }
+        return summary;
+    }
+
+    /**
+     * Summarizes the range in parallel on the common fork/join pool.
+     */
+    public static SeriesSummary parallel(double[] data, int offset, int length) {
+        return parallel(data, offset, length, ForkJoinPool.commonPool());
+    }
+
+    public static SeriesSummary parallel(double[] data, int offset, int length, ForkJoinPool pool) {
+        return parallel(data, offset, length, pool, CHUNK);
+    }
+
+    static SeriesSummary parallel(double[] data, int offset, int length, ForkJoinPool pool, int chunk) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.requireNonNull(pool, "pool");
+        return Chunks.reduce(pool, length, chunk, (from, size) -> of(data, offset + from, size), SeriesSummary::combine);
+    }
+
+    /**
+     * Summarizes the buffer's remaining values in chunks of {@code chunk} values on {@code pool}.
+     */
+    static SeriesSummary parallel(DoubleBuffer data, ForkJoinPool pool, int chunk) {
+        Objects.requireNonNull(pool, "pool");
+        int start = data.position();
+        return Chunks.reduce(pool, data.remaining(), chunk, (from, size) -> of(data.slice(start + from, size)),
+                SeriesSummary::combine);
+    }
+
+    private void accumulate(double[] data, int offset, int length) {
+        SeriesSummary block = new SeriesSummary();
+        for (int start = 0; start < length; start += BLOCK) {
+            int size = Math.min(BLOCK, length - start);
+            block.summarizeBlock(data, offset + start, size);
+            combine(block);
+        }
+    }
+
+    /**
+     * Replaces this summary with that of one block.
+     */
+    private void summarizeBlock(double[] data, int from, int size) {
+        double sum = 0.0;
+        double lo = data[from];
+        double hi = data[from];
+        int loAt = 0;
+        int hiAt = 0;
+        for (int i = 0; i < size; i++) {
+            double x = data[from + i];
+            sum += x;
+            if (x < lo) {
+                lo = x;
+                loAt = i;
+            }
+            if (x > hi) {
+                hi = x;
+                hiAt = i;
+            }
+        }
+        double blockMean = sum / size;
+
+        double s2 = 0.0;
+        double s3 = 0.0;
+        double s4 = 0.0;
+        for (int i = 0; i < size; i++) {
+            double d = data[from + i] - blockMean;
+            double d2 = d * d;
+            s2 += d2;
+            s3 += d2 * d;
+            s4 += d2 * d2;
+        }
+
+        count = size;
+        mean = blockMean;
+        m2 = s2;
+        m3 = s3;
+        m4 = s4;
+        min = lo;
+        max = hi;
+        minIndex = loAt;
+        maxIndex = hiAt;
+    }
+
+    /**
+     * Merges in the summary of the range that immediately follows this one.
+     *
+     * @param next summary of the following range; left unchanged
+     * @return this summary, now covering both ranges
+     */
+    public SeriesSummary combine(SeriesSummary next) {
+        if (next.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = next.count;
+            mean = next.mean;
+            m2 = next.m2;
+            m3 = next.m3;
+            m4 = next.m4;
+            min = next.min;
+            max = next.max;
+            minIndex = next.minIndex;
+            maxIndex = next.maxIndex;
+            return this;
+        }
+
+        double na = count;
+        double nb = next.count;
+        double n = na + nb;
+        double delta = next.mean - mean;
+        double delta2 = delta * delta;
+
+        double combined4 = m4 + next.m4
+                + delta2 * delta2 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n)
+                + 6 * delta2 * (na * na * next.m2 + nb * nb * m2) / (n * n)
+                + 4 * delta * (na * next.m3 - nb * m3) / n;
+        double combined3 = m3 + next.m3
+                + delta2 * delta * na * nb * (na - nb) / (n * n)
+                + 3 * delta * (na * next.m2 - nb * m2) / n;
+        m2 += next.m2 + delta2 * na * nb / n;
+        m3 = combined3;
+        m4 = combined4;
+        mean += delta * nb / n;
+
+        if (next.min < min) {
+            min = next.min;
+            minIndex = count + next.minIndex;
+        }
+        if (next.max > max) {
+            max = next.max;
+            maxIndex = count + next.maxIndex;
+        }
+        count += next.count;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return the mean, or {@code NaN} when empty
+     */
+    public double mean() {
+        return (count == 0) ? Double.NaN : mean;
+    }
+
+    /**
+     * @return the sample variance; {@code 0} for one value, as in {@link Stats#variance(java.util.List)}
+     */
+    public double variance() {
+        if (count == 0) return Double.NaN;
+        return (count == 1) ? 0.0 : m2 / (count - 1);
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * @return the moment coefficient of skewness {@code g1 = sqrt(n) M3 / M2^1.5}; 0 for constant data
+     */
+    public double skewness() {
+        if (count == 0) return Double.NaN;
+        return (m2 == 0) ? 0.0 : Math.sqrt(count) * m3 / Math.pow(m2, 1.5);
+    }
+
+    /**
+     * @return the excess kurtosis {@code g2 = n M4 / M2^2 - 3}; 0 for constant data
+     */
+    public double kurtosis() {
+        if (count == 0) return Double.NaN;
+        return (m2 == 0) ? 0.0 : count * m4 / (m2 * m2) - 3.0;
+    }
+
+    /**
+     * @return sum of squared deviations from the mean
+     */
+    public double sumSquaredDeviations() {
+        return m2;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * @return index of the first minimum, or -1 when empty
+     */
+    public long minIndex() {
+        return minIndex;
+    }
+
+    /**
+     * @return index of the first maximum, or -1 when empty
+     */
+    public long maxIndex() {
+        return maxIndex;
+    }
+}
@@ -0,0 +1,144 @@
+package tslib.util;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Bulk checkpoints of {@link Snapshottable} states through memory-mapped files.
+ *
+ * The file holds a header (magic, version, state count) followed by each state prefixed
+ * with its length, in little-endian order. The file is mapped in windows of up to
+ * 64 MiB, so states are copied straight to and from the page cache without intermediate
+ * buffers, and files larger than one mapping are supported.
+ *
+ * Example usage:
+ *   SnapshotFile.write(path, averages);   // before shutdown
+ *   SnapshotFile.read(path, averages);    // after restart, into identically configured instances
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x54534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    private static final long WINDOW = 64L << 20;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes every state to {@code file}, replacing its contents.
+     */
+    public static void write(Path file, List<? extends Snapshottable> states) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Window window = new Window(channel, FileChannel.MapMode.READ_WRITE);
+            MappedByteBuffer buffer = window.map(0, HEADER);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(states.size());
+
+            for (Snapshottable state : states) {
+                int size = state.snapshotSize();
+                buffer = window.ensure(4L + size);
+                buffer.putInt(size);
+                int start = buffer.position();
+                state.snapshot(buffer);
+                if (buffer.position() - start != size) {
+                    throw new IllegalStateException("Snapshot size does not match snapshotSize().");
+                }
+            }
+            long end = window.position();
+            window.force();
+            channel.truncate(end);
+        }
+    }
+
+    /**
+     * Restores the states from {@code file}, in the order they were written.
+     *
+     * @param states instances configured like the ones snapshotted, one per stored state
+     */
+    public static void read(Path file, List<? extends Snapshottable> states) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            Window window = new Window(channel, FileChannel.MapMode.READ_ONLY);
+            MappedByteBuffer buffer = window.map(0, HEADER);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            long count = buffer.getLong();
+            if (count != states.size()) {
+                throw new IllegalArgumentException("Snapshot holds " + count + " states but "
+                        + states.size() + " were given.");
+            }
+
+            for (Snapshottable state : states) {
+                buffer = window.ensure(4);
+                int size = buffer.getInt();
+                buffer = window.ensure(size);
+                int start = buffer.position();
+                state.restore(buffer);
+                if (buffer.position() - start != size) {
+                    throw new IOException("Corrupt snapshot: state size mismatch.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Sliding mapping over a channel; remaps whenever the next record would not fit.
+     */
+    private static final class Window {
+
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private MappedByteBuffer buffer;
+        private long base;
+
+        Window(FileChannel channel, FileChannel.MapMode mode) {
+            this.channel = channel;
+            this.mode = mode;
+        }
+
+        MappedByteBuffer map(long position, long size) throws IOException {
+            if (mode == FileChannel.MapMode.READ_ONLY) {
+                if (position + size > channel.size()) {
+                    throw new IOException("Corrupt snapshot: truncated file.");
+                }
+                size = Math.min(Math.max(size, WINDOW), channel.size() - position);
+            } else {
+                size = Math.max(size, WINDOW);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot record too large.");
+            }
+            if (buffer != null && mode == FileChannel.MapMode.READ_WRITE) {
+                buffer.force();
+            }
+            buffer = channel.map(mode, position, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            base = position;
+            return buffer;
+        }
+
+        MappedByteBuffer ensure(long bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                return map(position(), bytes);
+            }
+            return buffer;
+        }
+
+        long position() {
+            return base + buffer.position();
+        }
+
+        void force() {
+            buffer.force();
+        }
+    }
+}
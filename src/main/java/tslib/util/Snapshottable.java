@@ -0,0 +1,46 @@
+package tslib.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Streaming state that can be saved to and restored from a compact binary form.
+ *
+ * A snapshot holds only the mutable state (counts, sums, windows, level/trend/season);
+ * configuration such as the period or smoothing factors stays with the instance, so state
+ * is restored into an instance constructed with the same parameters. Implementations check
+ * the structural parameters they depend on and reject mismatching snapshots with an
+ * {@link IllegalArgumentException}. Byte order is the buffer's.
+ *
+ * Example usage:
+ *   ByteBuffer buffer = ByteBuffer.allocate(sma.snapshotSize());
+ *   sma.snapshot(buffer);
+ *   buffer.flip();
+ *   restored.restore(buffer);
+ */
+public interface Snapshottable {
+
+    /**
+     * @return number of bytes {@link #snapshot(ByteBuffer)} writes for the current state
+     */
+    int snapshotSize();
+
+    /**
+     * Writes the current state at the buffer's position, advancing it by {@link #snapshotSize()}.
+     */
+    void snapshot(ByteBuffer out);
+
+    /**
+     * Replaces the current state with one read from the buffer's position.
+     */
+    void restore(ByteBuffer in);
+
+    /**
+     * Throws unless a snapshot's structural parameter equals this instance's.
+     */
+    static void checkMatch(long snapshot, long expected) {
+        if (snapshot != expected) {
+            throw new IllegalArgumentException("Snapshot does not match this instance: expected "
+                    + expected + " but found " + snapshot + ".");
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package tslib.util;
 
+import java.nio.DoubleBuffer;
 import java.util.Collections;
 import java.util.List;
-import org.apache.commons.math3.linear.*;
+import java.util.Objects;
 
 /**
  * Collect relevant statistics about a time series.
  * Optimized for performance with single-pass algorithms where possible.
+ *
+ * Every statistic is also available on a {@code double[]} range and on a
+ * {@link DoubleBuffer}. Array overloads report indices relative to {@code offset}.
+ * Buffer overloads work on the remaining values and read them in place, so a
+ * memory-mapped series is never copied onto the heap; the buffer position is left
+ * unchanged and indices are relative to it.
  */
 public class Stats {
 
@@ -36,6 +43,14 @@ public class Stats {
         return Math.sqrt(variance(data));
     }
 
+    /**
+     * Count, mean, variance, skewness, kurtosis and extremes with their indices in one pass.
+     */
+    public static SeriesSummary summarize(List<Double> data) {
+        validateNonEmpty(data);
+        return SeriesSummary.of(toArray(data));
+    }
+
     public static int getMinimumIndex(List<Double> data) {
         validateNonEmpty(data);
         return data.indexOf(Collections.min(data));
@@ -117,19 +132,20 @@ public class Stats {
         return (var == 0) ? 0 : acov / var;
     }
 
+    /**
+     * Autocorrelations at lags 0 to n, computing the mean and variance once; large lag
+     * counts go through the FFT (see {@link Autocorrelation}).
+     */
     public static double[] getAcf(List<Double> data, int n) {
         validateNonEmpty(data);
         if (n < 0) throw new IllegalArgumentException("Number of lags must be >= 0");
-        
-        double[] acfValues = new double[n + 1];
-        for (int i = 0; i <= n; i++) {
-            acfValues[i] = getAutoCorrelation(data, i);
-        }
-        return acfValues;
+
+        return Autocorrelation.acf(toArray(data), n);
     }
 
     /**
-     * Computes PACF using Yule-Walker equations.
+     * Computes PACF from the Yule-Walker equations with the Durbin-Levinson recursion
+     * over one ACF vector; {@link DurbinLevinson} also exposes the AR coefficients.
      *
      * @param data Time series data
      * @param maxLag Maximum lag to compute PACF
@@ -138,32 +154,265 @@ public class Stats {
     public static double[] getPacf(List<Double> data, int maxLag) {
         validateNonEmpty(data);
         if (maxLag < 0) throw new IllegalArgumentException("Max lag must be >= 0");
-        
-        double[] pacf = new double[maxLag + 1];
-        pacf[0] = 1.0;
-
-        for (int k = 1; k <= maxLag; k++) {
-            double[][] matrix = new double[k][k];
-            double[] rhs = new double[k];
-
-            for (int i = 0; i < k; i++) {
-                rhs[i] = getAutoCorrelation(data, i + 1);
-                for (int j = 0; j < k; j++) {
-                    matrix[i][j] = getAutoCorrelation(data, Math.abs(i - j));
-                }
+
+        return DurbinLevinson.fit(Autocorrelation.acf(toArray(data), maxLag), maxLag).pacf();
+    }
+
+    // === double[] overloads ===
+
+    public static double average(double[] data, int offset, int length) {
+        validateNonEmpty(data, offset, length);
+        double total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += data[i];
+        }
+        return total / length;
+    }
+
+    public static double variance(double[] data, int offset, int length) {
+        double avg = average(data, offset, length);
+        if (length == 1) return 0.0;
+
+        double total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += (data[i] - avg) * (data[i] - avg);
+        }
+        return total / (length - 1);
+    }
+
+    public static double standardDeviation(double[] data, int offset, int length) {
+        return Math.sqrt(variance(data, offset, length));
+    }
+
+    public static SeriesSummary summarize(double[] data, int offset, int length) {
+        validateNonEmpty(data, offset, length);
+        return SeriesSummary.of(data, offset, length);
+    }
+
+    public static int getMinimumIndex(double[] data, int offset, int length) {
+        return getMinMaxIndices(data, offset, length)[0];
+    }
+
+    public static int getMaximumIndex(double[] data, int offset, int length) {
+        return getMinMaxIndices(data, offset, length)[1];
+    }
+
+    public static double getMinimum(double[] data, int offset, int length) {
+        return getMinMax(data, offset, length)[0];
+    }
+
+    public static double getMaximum(double[] data, int offset, int length) {
+        return getMinMax(data, offset, length)[1];
+    }
+
+    public static double[] getMinMax(double[] data, int offset, int length) {
+        validateNonEmpty(data, offset, length);
+        double min = data[offset];
+        double max = data[offset];
+        for (int i = offset + 1; i < offset + length; i++) {
+            double value = data[i];
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        return new double[]{min, max};
+    }
+
+    public static int[] getMinMaxIndices(double[] data, int offset, int length) {
+        validateNonEmpty(data, offset, length);
+        int minIndex = 0;
+        int maxIndex = 0;
+        double min = data[offset];
+        double max = data[offset];
+        for (int i = 1; i < length; i++) {
+            double value = data[offset + i];
+            if (value < min) {
+                min = value;
+                minIndex = i;
+            }
+            if (value > max) {
+                max = value;
+                maxIndex = i;
             }
+        }
+        return new int[]{minIndex, maxIndex};
+    }
+
+    public static double getAutoCovariance(double[] data, int offset, int length, int k) {
+        validateNonEmpty(data, offset, length);
+        if (k < 0) throw new IllegalArgumentException("Lag k must be >= 0");
+        if (k >= length) return 0;
+
+        double mean = average(data, offset, length);
+        double total = 0;
+        for (int i = offset + k; i < offset + length; i++) {
+            total += (data[i - k] - mean) * (data[i] - mean);
+        }
+        return total / (length - k);
+    }
 
-            try {
-                RealMatrix A = new Array2DRowRealMatrix(matrix);
-                RealVector b = new ArrayRealVector(rhs);
-                RealVector phi = new LUDecomposition(A).getSolver().solve(b);
-                pacf[k] = phi.getEntry(k - 1);
-            } catch (Exception e) {
-                pacf[k] = Double.NaN;
+    public static double getAutoCorrelation(double[] data, int offset, int length, int k) {
+        double acov = getAutoCovariance(data, offset, length, k);
+        double var = variance(data, offset, length);
+        return (var == 0) ? 0 : acov / var;
+    }
+
+    public static double[] getAcf(double[] data, int offset, int length, int n) {
+        validateNonEmpty(data, offset, length);
+        return Autocorrelation.acf(data, offset, length, n);
+    }
+
+    public static double[] getPacf(double[] data, int offset, int length, int maxLag) {
+        validateNonEmpty(data, offset, length);
+        if (maxLag < 0) throw new IllegalArgumentException("Max lag must be >= 0");
+
+        return DurbinLevinson.fit(Autocorrelation.acf(data, offset, length, maxLag), maxLag).pacf();
+    }
+
+    // === DoubleBuffer overloads ===
+
+    public static double average(DoubleBuffer data) {
+        validateNonEmpty(data);
+        if (data.hasArray()) {
+            return average(data.array(), arrayStart(data), data.remaining());
+        }
+        int from = data.position();
+        int n = data.remaining();
+        double total = 0;
+        for (int i = from; i < from + n; i++) {
+            total += data.get(i);
+        }
+        return total / n;
+    }
+
+    public static double variance(DoubleBuffer data) {
+        validateNonEmpty(data);
+        if (data.hasArray()) {
+            return variance(data.array(), arrayStart(data), data.remaining());
+        }
+        double avg = average(data);
+        int from = data.position();
+        int n = data.remaining();
+        if (n == 1) return 0.0;
+
+        double total = 0;
+        for (int i = from; i < from + n; i++) {
+            double d = data.get(i) - avg;
+            total += d * d;
+        }
+        return total / (n - 1);
+    }
+
+    public static double standardDeviation(DoubleBuffer data) {
+        return Math.sqrt(variance(data));
+    }
+
+    public static SeriesSummary summarize(DoubleBuffer data) {
+        validateNonEmpty(data);
+        return SeriesSummary.of(data);
+    }
+
+    public static int getMinimumIndex(DoubleBuffer data) {
+        return getMinMaxIndices(data)[0];
+    }
+
+    public static int getMaximumIndex(DoubleBuffer data) {
+        return getMinMaxIndices(data)[1];
+    }
+
+    public static double getMinimum(DoubleBuffer data) {
+        return getMinMax(data)[0];
+    }
+
+    public static double getMaximum(DoubleBuffer data) {
+        return getMinMax(data)[1];
+    }
+
+    public static double[] getMinMax(DoubleBuffer data) {
+        validateNonEmpty(data);
+        if (data.hasArray()) {
+            return getMinMax(data.array(), arrayStart(data), data.remaining());
+        }
+        int from = data.position();
+        double min = data.get(from);
+        double max = min;
+        for (int i = from + 1; i < data.limit(); i++) {
+            double value = data.get(i);
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        return new double[]{min, max};
+    }
+
+    public static int[] getMinMaxIndices(DoubleBuffer data) {
+        validateNonEmpty(data);
+        if (data.hasArray()) {
+            return getMinMaxIndices(data.array(), arrayStart(data), data.remaining());
+        }
+        int from = data.position();
+        int minIndex = 0;
+        int maxIndex = 0;
+        double min = data.get(from);
+        double max = min;
+        for (int i = 1; i < data.remaining(); i++) {
+            double value = data.get(from + i);
+            if (value < min) {
+                min = value;
+                minIndex = i;
+            }
+            if (value > max) {
+                max = value;
+                maxIndex = i;
             }
         }
+        return new int[]{minIndex, maxIndex};
+    }
+
+    public static double getAutoCovariance(DoubleBuffer data, int k) {
+        validateNonEmpty(data);
+        if (data.hasArray()) {
+            return getAutoCovariance(data.array(), arrayStart(data), data.remaining(), k);
+        }
+        if (k < 0) throw new IllegalArgumentException("Lag k must be >= 0");
+        int from = data.position();
+        int n = data.remaining();
+        if (k >= n) return 0;
+
+        double mean = average(data);
+        double total = 0;
+        for (int i = from + k; i < from + n; i++) {
+            total += (data.get(i - k) - mean) * (data.get(i) - mean);
+        }
+        return total / (n - k);
+    }
 
-        return pacf;
+    public static double getAutoCorrelation(DoubleBuffer data, int k) {
+        double acov = getAutoCovariance(data, k);
+        double var = variance(data);
+        return (var == 0) ? 0 : acov / var;
+    }
+
+    public static double[] getAcf(DoubleBuffer data, int n) {
+        validateNonEmpty(data);
+        return Autocorrelation.acf(data, n);
+    }
+
+    public static double[] getPacf(DoubleBuffer data, int maxLag) {
+        validateNonEmpty(data);
+        if (maxLag < 0) throw new IllegalArgumentException("Max lag must be >= 0");
+
+        return DurbinLevinson.fit(Autocorrelation.acf(data, maxLag), maxLag).pacf();
+    }
+
+    private static int arrayStart(DoubleBuffer data) {
+        return data.arrayOffset() + data.position();
+    }
+
+    private static double[] toArray(List<Double> data) {
+        double[] y = new double[data.size()];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = data.get(i);
+        }
+        return y;
     }
 
     private static void validateNonEmpty(List<Double> data) {
@@ -171,4 +420,17 @@ public class Stats {
             throw new IllegalArgumentException("Input data must not be null or empty.");
         }
     }
+
+    private static void validateNonEmpty(double[] data, int offset, int length) {
+        if (data == null || length == 0) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+        Objects.checkFromIndexSize(offset, length, data.length);
+    }
+
+    private static void validateNonEmpty(DoubleBuffer data) {
+        if (data == null || !data.hasRemaining()) {
+            throw new IllegalArgumentException("Input data must not be null or empty.");
+        }
+    }
 }
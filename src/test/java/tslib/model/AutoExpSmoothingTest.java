@@ -0,0 +1,105 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class AutoExpSmoothingTest {
+
+    private static double[] seasonal(long seed, int period, int length) {
+        Random random = new Random(seed);
+        double[] y = new double[length];
+        for (int t = 0; t < length; t++) {
+            y[t] = (200 + 0.8 * t) * (1 + 0.3 * Math.sin(2 * Math.PI * t / period)) + random.nextGaussian();
+        }
+        return y;
+    }
+
+    private static double[] level(long seed, int length) {
+        Random random = new Random(seed);
+        double[] y = new double[length];
+        for (int t = 0; t < length; t++) {
+            y[t] = 50 + random.nextGaussian();
+        }
+        return y;
+    }
+
+    @Test
+    public void selectsSeasonalModelWithMatchingPeriod() {
+        double[] y = seasonal(3, 12, 120);
+        ModelSelection selection = new AutoExpSmoothing().select(y, 4, 12);
+
+        assertTrue(selection.getModel() instanceof TripleExpSmoothing);
+        assertArrayEquals(new TripleExpSmoothing(selection.getFit().getParameters()[0],
+                        selection.getFit().getParameters()[1], selection.getFit().getParameters()[2], 12, false)
+                        .forecast(y, 12), selection.getModel().forecast(y, 12), 0.0);
+        assertEquals(6, selection.getCandidates());
+    }
+
+    @Test
+    public void selectsSimpleModelForFlatSeries() {
+        ModelSelection selection = new AutoExpSmoothing().select(level(5, 60), 12);
+        assertTrue(selection.getModel() instanceof SingleExpSmoothing);
+    }
+
+    @Test
+    public void nonSeasonalSeriesDoesNotSelectSeasonalModel() {
+        // Flat series whose first season is noisy: a seasonal model that skips it must not win on that alone
+        for (long seed = 1; seed <= 10; seed++) {
+            Random random = new Random(seed);
+            double[] y = new double[48];
+            for (int t = 0; t < y.length; t++) {
+                y[t] = 100 + ((t < 12) ? 8 : 1) * random.nextGaussian();
+            }
+            ModelSelection selection = new AutoExpSmoothing().select(y, 4, 12);
+            assertFalse("seed " + seed, selection.getModel() instanceof TripleExpSmoothing);
+        }
+    }
+
+    @Test
+    public void pruningKeepsTheWinner() {
+        double[] y = seasonal(7, 12, 96);
+        ExpSmoothingFitter fitter = new ExpSmoothingFitter();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            ModelSelection pruned = new AutoExpSmoothing(fitter, pool, 60, 10.0).select(y, 12);
+            ModelSelection full = new AutoExpSmoothing(fitter, pool, 60, Double.POSITIVE_INFINITY).select(y, 12);
+
+            assertTrue(pruned.getPruned() > 0);
+            assertEquals(0, full.getPruned());
+            assertSame(full.getModel().getClass(), pruned.getModel().getClass());
+            assertEquals(full.getAicc(), pruned.getAicc(), 1e-9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void panelSelectionMatchesPerSeries() {
+        double[][] series = {seasonal(1, 4, 48), level(2, 48), seasonal(3, 12, 48)};
+        AutoExpSmoothing auto = new AutoExpSmoothing();
+
+        ModelSelection[] selections = auto.select(series, 4, 12);
+        for (int i = 0; i < series.length; i++) {
+            ModelSelection single = auto.select(series[i], 4, 12);
+            assertSame(single.getModel().getClass(), selections[i].getModel().getClass());
+            assertEquals(single.getAicc(), selections[i].getAicc(), 0.0);
+        }
+    }
+
+    @Test
+    public void skipsPeriodsLongerThanHalfTheSeries() {
+        ModelSelection selection = new AutoExpSmoothing().select(level(9, 20), 12);
+        assertEquals(4, selection.getCandidates());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidPeriod() {
+        new AutoExpSmoothing().select(level(1, 30), 1);
+    }
+}
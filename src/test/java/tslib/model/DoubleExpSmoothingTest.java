@@ -2,6 +2,7 @@ package tslib.model;
 
 import org.junit.Test;
 import tslib.model.expsmoothing.DoubleExpSmoothing;
+import tslib.model.expsmoothing.ExponentialSmoothing;
 
 import java.util.List;
 import java.util.Arrays;
@@ -40,4 +41,36 @@ public class DoubleExpSmoothingTest {
         // Optional: print forecast values for manual inspection
         System.out.println("Double Exp Forecast: " + prediction.subList(y.size(), y.size() + forecastSteps));
     }
+
+    @Test
+    public void primitiveForecastMatchesList() {
+        List<Double> y = Arrays.asList(
+                362.0, 385.0, 432.0, 341.0, 382.0, 409.0, 498.0, 387.0, 473.0, 513.0, 582.0, 474.0,
+                544.0, 582.0, 681.0, 557.0, 628.0, 707.0, 773.0, 592.0, 627.0, 725.0, 854.0, 661.0
+        );
+        double[] data = new double[y.size()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = y.get(i);
+        }
+
+        ExponentialSmoothing model = new DoubleExpSmoothing(0.5, 0.6, 1);
+        List<Double> expected = model.forecast(y, 4);
+        double[] actual = model.forecast(data, 4);
+
+        assertEquals(expected.size(), actual.length);
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(expected.get(i), actual[i], 0.0);
+        }
+
+        // Offset/length variant reads a slice and writes into a reused, dirty buffer
+        double[] padded = new double[data.length + 3];
+        System.arraycopy(data, 0, padded, 2, data.length);
+        double[] out = new double[actual.length + 5];
+        Arrays.fill(out, -1.0);
+        model.forecast(padded, 2, data.length, 4, out, 5);
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(actual[i], out[5 + i], 0.0);
+        }
+        assertEquals(-1.0, out[4], 0.0);
+    }
 }
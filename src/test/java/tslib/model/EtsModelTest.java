@@ -0,0 +1,112 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+import tslib.model.expsmoothing.EtsModel.Season;
+import tslib.model.expsmoothing.EtsModel.Trend;
+
+import static org.junit.Assert.*;
+
+public class EtsModelTest {
+
+    private static final double[] Y = {
+            362.0, 385.0, 432.0, 341.0, 382.0, 409.0, 498.0, 387.0, 473.0, 513.0, 582.0, 474.0,
+            544.0, 582.0, 681.0, 557.0, 628.0, 707.0, 773.0, 592.0, 627.0, 725.0, 854.0, 661.0
+    };
+
+    @Test
+    public void nonSeasonalVariantsMatchFixedModels() {
+        double[] ses = new SingleExpSmoothing(0.4).forecast(Y, 0);
+        double[] ets = new EtsModel(Trend.NONE, Season.NONE, 0.4, 0, 0, 1, 1).forecast(Y, 0);
+        double[] holt = new DoubleExpSmoothing(0.4, 0.3, 0).forecast(Y, 0);
+        double[] etsHolt = new EtsModel(Trend.ADDITIVE, Season.NONE, 0.4, 0, 0.3, 1, 1).forecast(Y, 0);
+
+        // The fixed models report the forecast made at t, the ETS output the one made for t
+        assertEquals(Y[0], ets[0], 0.0);
+        for (int t = 1; t < Y.length; t++) {
+            assertEquals(ses[t - 1], ets[t], 0.0);
+            assertEquals(holt[t - 1], etsHolt[t], 0.0);
+        }
+    }
+
+    @Test
+    public void dampedTrendFlattensForecast() {
+        double[] damped = EtsModel.dampedTrend(0.4, 0.3, 0.8).forecast(Y, 30);
+        double[] undamped = EtsModel.dampedTrend(0.4, 0.3, 1.0).forecast(Y, 30);
+        double[] linear = new EtsModel(Trend.ADDITIVE, Season.NONE, 0.4, 0, 0.3, 1, 1).forecast(Y, 30);
+
+        assertArrayEquals(linear, undamped, 0.0);
+        int n = Y.length;
+        double lastStep = damped[n + 29] - damped[n + 28];
+        double firstStep = damped[n + 1] - damped[n];
+        assertTrue(Math.abs(lastStep) < Math.abs(firstStep) * 0.01);
+    }
+
+    @Test
+    public void additiveHoltWintersMatchesReference() {
+        int period = 4;
+        double alpha = 0.5, beta = 0.4, gamma = 0.3;
+        double[] actual = EtsModel.additiveHoltWinters(alpha, beta, gamma, period).forecast(Y, 6);
+
+        // Straightforward reference with a separate seasonal array
+        double level = (Y[0] + Y[1] + Y[2] + Y[3]) / 4;
+        double trend = 0;
+        for (int i = 0; i < period; i++) {
+            trend += (Y[period + i] - Y[i]);
+        }
+        trend /= period * period;
+        double[] season = new double[Y.length + period];
+        for (int i = 0; i < period; i++) {
+            season[i] = Y[i] - level;
+        }
+        for (int t = 0; t < Y.length; t++) {
+            assertEquals(level + trend + season[t], actual[t], 1e-9);
+            double prev = level;
+            level = alpha * (Y[t] - season[t]) + (1 - alpha) * (prev + trend);
+            trend = gamma * (level - prev) + (1 - gamma) * trend;
+            season[t + period] = beta * (Y[t] - level) + (1 - beta) * season[t];
+        }
+        for (int h = 1; h <= 6; h++) {
+            double s = season[Y.length + (h - 1) % period];
+            assertEquals(level + h * trend + s, actual[Y.length + h - 1], 1e-9);
+        }
+    }
+
+    @Test
+    public void updaterMatchesBatchForEveryVariant() {
+        int period = 4;
+        for (Trend trend : Trend.values()) {
+            for (Season season : Season.values()) {
+                EtsModel model = new EtsModel(trend, season, 0.5, 0.4, 0.3, 0.9, period);
+                double[] batch = model.forecast(Y, 3);
+
+                ExpSmoothingUpdater updater = model.newUpdater();
+                updater.initialize(Y, 0, Y.length);
+                for (int h = 1; h <= 3; h++) {
+                    assertEquals(trend + "/" + season, batch[Y.length + h - 1], updater.forecast(h), 1e-9);
+                }
+
+                ExpSmoothingUpdater streaming = model.newUpdater();
+                for (double y : Y) {
+                    streaming.update(y);
+                }
+                assertEquals(batch[Y.length], streaming.forecast(1), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void fitterHandlesDampedSeasonal() {
+        FitResult fit = new ExpSmoothingFitter().fitEts(Y, Trend.DAMPED, Season.MULTIPLICATIVE, 4);
+        assertEquals(4, fit.getParameters().length);
+        double phi = fit.getParameters()[3];
+        assertTrue(phi >= 0.8 && phi <= 0.98);
+
+        double[] fitted = fit.getModel().forecast(Y, 0);
+        double sse = 0;
+        for (int t = 0; t < Y.length; t++) {
+            sse += (Y[t] - fitted[t]) * (Y[t] - fitted[t]);
+        }
+        assertEquals(sse, fit.getSse(), 1e-6 * sse);
+    }
+}
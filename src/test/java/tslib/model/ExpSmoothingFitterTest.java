@@ -0,0 +1,85 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ExpSmoothingFitterTest {
+
+    private static final double[] Y = {
+            362.0, 385.0, 432.0, 341.0, 382.0, 409.0, 498.0, 387.0, 473.0, 513.0, 582.0, 474.0,
+            544.0, 582.0, 681.0, 557.0, 628.0, 707.0, 773.0, 592.0, 627.0, 725.0, 854.0, 661.0
+    };
+
+    private final ExpSmoothingFitter fitter = new ExpSmoothingFitter();
+
+    @Test
+    public void singleFitBeatsGrid() {
+        FitResult fit = fitter.fitSingle(Y);
+        for (double alpha = 0.05; alpha <= 1.0; alpha += 0.05) {
+            assertTrue(fit.getSse() <= singleSse(alpha) + 1e-6);
+        }
+        // The reported SSE is what the fitted model actually produces
+        assertEquals(singleSse(fit.getParameters()[0]), fit.getSse(), 1e-6);
+    }
+
+    @Test
+    public void doubleFitBeatsGrid() {
+        FitResult fit = fitter.fitDouble(Y, 0);
+        double[] fitted = fit.getModel().forecast(Y, 0);
+        assertEquals(oneStepSse(Y, fitted, 1, -1), fit.getSse(), 1e-6);
+
+        for (double alpha = 0.1; alpha <= 1.0; alpha += 0.1) {
+            for (double gamma = 0.1; gamma <= 1.0; gamma += 0.1) {
+                double[] grid = new DoubleExpSmoothing(alpha, gamma, 0).forecast(Y, 0);
+                assertTrue(fit.getSse() <= oneStepSse(Y, grid, 1, -1) + 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void tripleFitRecoversSeasonalSeries() {
+        Random random = new Random(11);
+        int period = 12;
+        double[] y = new double[10 * period];
+        for (int t = 0; t < y.length; t++) {
+            y[t] = (200 + 0.8 * t) * (1 + 0.3 * Math.sin(2 * Math.PI * t / period)) + random.nextGaussian();
+        }
+
+        FitResult fit = fitter.fitTriple(y, period);
+        double[] oneStep = fit.getModel().forecast(y, 1);
+        assertEquals(oneStepSse(y, oneStep, Math.max(3, period), 0), fit.getSse(), 1e-6 * fit.getSse());
+
+        double[] baseline = new TripleExpSmoothing(0.5, 0.4, 0.3, period, false).forecast(y, 1);
+        assertTrue(fit.getSse() < oneStepSse(y, baseline, Math.max(3, period), 0));
+        for (double p : fit.getParameters()) {
+            assertTrue(p > 0 && p < 1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tripleRejectsShortSeries() {
+        fitter.fitTriple(new double[10], 6);
+    }
+
+    private static double singleSse(double alpha) {
+        double[] smoothed = new SingleExpSmoothing(alpha).forecast(Y, 0);
+        return oneStepSse(Y, smoothed, 1, -1);
+    }
+
+    /**
+     * Sum of (y[k] - fitted[k + shift])^2 for k from {@code from}: single and double
+     * smoothing predict y[k] with the previous fitted value, Holt-Winters with its own.
+     */
+    private static double oneStepSse(double[] y, double[] fitted, int from, int shift) {
+        double sse = 0.0;
+        for (int k = from; k < y.length; k++) {
+            double e = y[k] - fitted[k + shift];
+            sse += e * e;
+        }
+        return sse;
+    }
+}
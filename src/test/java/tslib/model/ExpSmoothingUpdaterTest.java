@@ -0,0 +1,105 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ExpSmoothingUpdaterTest {
+
+    private static final double[] Y = {
+            362.0, 385.0, 432.0, 341.0, 382.0, 409.0, 498.0, 387.0, 473.0, 513.0, 582.0, 474.0,
+            544.0, 582.0, 681.0, 557.0, 628.0, 707.0, 773.0, 592.0, 627.0, 725.0, 854.0, 661.0
+    };
+
+    @Test
+    public void singleMatchesBatch() {
+        SingleExpSmoothing model = new SingleExpSmoothing(0.5);
+        ExpSmoothingUpdater updater = model.newUpdater();
+        assertFalse(updater.isReady());
+
+        for (int n = 1; n <= Y.length; n++) {
+            updater.update(Y[n - 1]);
+            double[] batch = model.forecast(Arrays.copyOf(Y, n), 3);
+            assertEquals(batch[n], updater.forecast(1), 0.0);
+            assertEquals(batch[n + 2], updater.forecast(3), 0.0);
+        }
+        assertEquals(Y.length, updater.count());
+    }
+
+    @Test
+    public void doubleMatchesBatch() {
+        for (int method = 0; method <= 1; method++) {
+            DoubleExpSmoothing model = new DoubleExpSmoothing(0.5, 0.6, method);
+            ExpSmoothingUpdater updater = model.newUpdater();
+            int warmup = (method == 0) ? 2 : 4;
+
+            for (int n = 1; n <= Y.length; n++) {
+                updater.update(Y[n - 1]);
+                assertEquals(n >= warmup, updater.isReady());
+                // Method 1 switches estimate once the series is longer than four points
+                if (n >= warmup && (method == 0 || n > 4)) {
+                    double[] batch = model.forecast(Arrays.copyOf(Y, n), 4);
+                    assertEquals(batch[n], updater.forecast(1), 1e-9);
+                    assertEquals(batch[n + 3], updater.forecast(4), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void doubleMethodTwoRequiresInitialize() {
+        DoubleExpSmoothing model = new DoubleExpSmoothing(0.5, 0.6, 2);
+        ExpSmoothingUpdater updater = model.newUpdater();
+        updater.initialize(Y, 0, Y.length);
+
+        double[] batch = model.forecast(Y, 2);
+        assertEquals(batch[Y.length], updater.forecast(1), 0.0);
+        assertEquals(batch[Y.length + 1], updater.forecast(2), 0.0);
+
+        updater.reset();
+        try {
+            updater.update(1.0);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // method 2 cannot be estimated from a stream
+        }
+    }
+
+    @Test
+    public void tripleInitializeMatchesBatch() {
+        int period = 4;
+        TripleExpSmoothing model = new TripleExpSmoothing(0.5, 0.4, 0.6, period, false);
+        ExpSmoothingUpdater updater = model.newUpdater();
+        updater.initialize(Y, 0, Y.length);
+
+        for (int h = 1; h <= period; h++) {
+            double[] batch = model.forecast(Y, h);
+            assertEquals(batch[Y.length - 1 + h], updater.forecast(h), 1e-9);
+        }
+    }
+
+    @Test
+    public void tripleStreamingMatchesBatchOverTwoSeasons() {
+        int period = 4;
+        TripleExpSmoothing model = new TripleExpSmoothing(0.5, 0.4, 0.6, period, false);
+        ExpSmoothingUpdater updater = model.newUpdater();
+
+        for (int n = 1; n < 3 * period; n++) {
+            updater.update(Y[n - 1]);
+            assertEquals(n >= 2 * period, updater.isReady());
+            if (updater.isReady()) {
+                // The batch model also estimates its initial indices from two seasons here
+                double[] batch = model.forecast(Arrays.copyOf(Y, n), 2);
+                assertEquals(batch[n + 1], updater.forecast(2), 1e-9);
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void forecastBeforeReadyFails() {
+        new TripleExpSmoothingUpdater(0.5, 0.4, 0.6, 4).forecast(1);
+    }
+}
@@ -0,0 +1,66 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+import tslib.util.SeriesPanel;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ForecastExecutorTest {
+
+    @Test
+    public void panelMatchesSequentialForecast() {
+        SeriesPanel panel = new SeriesPanel(101, 24);
+        Random random = new Random(3);
+        for (int i = 0; i < panel.values().length; i++) {
+            panel.values()[i] = 50 + random.nextDouble() * 10;
+        }
+        ExponentialSmoothing model = new TripleExpSmoothing(0.5, 0.4, 0.6, 4, false);
+
+        SeriesPanel expected = new SeriesPanel(101, 30);
+        model.forecast(panel, 6, expected);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SeriesPanel actual = new SeriesPanel(101, 30);
+            new ForecastExecutor(pool, 7).forecast(model, panel, 6, actual);
+            assertArrayEquals(expected.values(), actual.values(), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void raggedSeriesKeepInputOrder() {
+        Random random = new Random(5);
+        double[][] series = new double[50][];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = new double[2 + random.nextInt(40)];
+            for (int t = 0; t < series[i].length; t++) {
+                series[i][t] = random.nextGaussian();
+            }
+        }
+        ExponentialSmoothing model = new DoubleExpSmoothing(0.4, 0.3, 0);
+
+        ExecutorService service = Executors.newFixedThreadPool(3);
+        try {
+            double[][] out = new ForecastExecutor(service, 4).forecast(model, series, 3);
+            for (int i = 0; i < series.length; i++) {
+                assertArrayEquals(model.forecast(series[i], 3), out[i], 0.0);
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void propagatesModelErrors() {
+        double[][] series = {{1.0, 2.0, 3.0}, {1.0}};
+        new ForecastExecutor(Runnable::run, 1).forecast(new DoubleExpSmoothing(0.4, 0.3, 0), series, 1);
+    }
+}
@@ -0,0 +1,177 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ForecastResultTest {
+
+    private static final double[] Y = {
+            362.0, 385.0, 432.0, 341.0, 382.0, 409.0, 498.0, 387.0, 473.0, 513.0, 582.0, 474.0,
+            544.0, 582.0, 681.0, 557.0, 628.0, 707.0, 773.0, 592.0, 627.0, 725.0, 854.0, 661.0
+    };
+
+    @Test
+    public void singleSeparatesFittedAndForecast() {
+        SingleExpSmoothing model = new SingleExpSmoothing(0.4);
+        ForecastResult result = new ForecastResult();
+        model.forecast(Y, 0, Y.length, 3, result);
+        double[] combined = model.forecast(Y, 3);
+
+        assertEquals(Y.length, result.length());
+        assertTrue(Double.isNaN(result.fitted()[0]));
+        for (int i = 1; i < Y.length; i++) {
+            assertEquals(combined[i - 1], result.fitted()[i], 0.0);
+            assertEquals(Y[i] - combined[i - 1], result.residuals()[i], 0.0);
+        }
+        for (int h = 0; h < 3; h++) {
+            assertEquals(combined[Y.length + h], result.forecast()[h], 0.0);
+        }
+        assertEquals(1, result.stateSize());
+        assertEquals(combined[Y.length - 1], result.state()[0], 0.0);
+    }
+
+    @Test
+    public void doubleSeparatesFittedAndForecast() {
+        DoubleExpSmoothing model = new DoubleExpSmoothing(0.5, 0.3, 1);
+        ForecastResult result = new ForecastResult();
+        model.forecast(Y, 0, Y.length, 4, result);
+        double[] combined = model.forecast(Y, 4);
+
+        for (int i = 1; i < Y.length; i++) {
+            assertEquals(combined[i - 1], result.fitted()[i], 1e-9);
+        }
+        for (int h = 0; h < 4; h++) {
+            assertEquals(combined[Y.length + h], result.forecast()[h], 1e-9);
+        }
+        assertEquals(combined[Y.length], result.state()[0] + result.state()[1], 1e-9);
+    }
+
+    @Test
+    public void tripleResidualsMatchFittedSse() {
+        FitResult fit = new ExpSmoothingFitter().fitTriple(Y, 4);
+        ForecastResult result = new ForecastResult();
+        fit.getModel().forecast(Y, 0, Y.length, 9, result);
+
+        double sse = 0.0;
+        for (int i = 0; i < Y.length; i++) {
+            double r = result.residuals()[i];
+            assertEquals(i < 4, Double.isNaN(r));
+            if (!Double.isNaN(r)) {
+                sse += r * r;
+            }
+        }
+        assertEquals(fit.getSse(), sse, 1e-9 * sse);
+
+        ExpSmoothingUpdater updater = fit.getModel().newUpdater();
+        updater.initialize(Y, 0, Y.length);
+        double[] state = result.state();
+        assertEquals(6, result.stateSize());
+        for (int h = 1; h <= 9; h++) {
+            assertEquals(updater.forecast(h), result.forecast()[h - 1], 1e-9);
+            double index = state[2 + (h - 1) % 4];
+            assertEquals(updater.forecast(h), (state[0] + h * state[1]) * index, 1e-9);
+        }
+    }
+
+    @Test
+    public void forecastsRelateToCombinedOutputTail() {
+        int steps = 3;
+        ExponentialSmoothing[] models = {
+                new SingleExpSmoothing(0.4),
+                new DoubleExpSmoothing(0.5, 0.3, 1),
+                new TripleExpSmoothing(0.3, 0.2, 0.1, 4, false)
+        };
+        for (ExponentialSmoothing model : models) {
+            ForecastResult result = new ForecastResult();
+            model.forecast(Y, 0, Y.length, steps, result);
+            double[] combined = model.forecast(Y, steps);
+            String name = model.getClass().getSimpleName();
+
+            if (model instanceof TripleExpSmoothing) {
+                // Projected from the final state; the combined tail shares only its last value
+                assertEquals(name, combined[Y.length + steps - 1], result.forecast()[steps - 1], 1e-9);
+                for (int h = 1; h < steps; h++) {
+                    assertNotEquals(name, combined[Y.length + h - 1], result.forecast()[h - 1], 1e-6);
+                }
+            } else {
+                for (int h = 1; h <= steps; h++) {
+                    assertEquals(name, combined[Y.length + h - 1], result.forecast()[h - 1], 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reusedResultMatchesFreshOne() {
+        TripleExpSmoothing model = new TripleExpSmoothing(0.3, 0.2, 0.1, 4, false);
+        ForecastResult reused = new ForecastResult(Y.length, 8);
+        model.forecast(Y, 0, Y.length, 8, reused);
+        double[] fitted = reused.fitted();
+        model.forecast(Y, 4, 12, 2, reused);
+
+        ForecastResult fresh = new ForecastResult();
+        model.forecast(Y, 4, 12, 2, fresh);
+        assertSame(fitted, reused.fitted());
+        assertEquals(12, reused.length());
+        assertEquals(2, reused.steps());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(fresh.fitted()[i], reused.fitted()[i], 0.0);
+        }
+        for (int h = 0; h < 2; h++) {
+            assertEquals(fresh.forecast()[h], reused.forecast()[h], 0.0);
+        }
+
+        reused.reset();
+        assertEquals(0, reused.length());
+        assertEquals(0, reused.steps());
+        assertEquals(0, reused.stateSize());
+    }
+
+    @Test
+    public void etsDampedTrendMatchesCombinedOutput() {
+        EtsModel model = EtsModel.dampedTrend(0.5, 0.2, 0.9);
+        ForecastResult result = new ForecastResult();
+        model.forecast(Y, 0, Y.length, 5, result);
+        double[] combined = model.forecast(Y, 5);
+
+        assertTrue(Double.isNaN(result.fitted()[0]));
+        for (int i = 1; i < Y.length; i++) {
+            assertEquals(combined[i], result.fitted()[i], 1e-9);
+            assertEquals(Y[i] - combined[i], result.residuals()[i], 1e-9);
+        }
+        assertEquals(2, result.stateSize());
+        double damped = 0.0;
+        for (int h = 1; h <= 5; h++) {
+            damped += Math.pow(0.9, h);
+            assertEquals(combined[Y.length + h - 1], result.forecast()[h - 1], 1e-9);
+            assertEquals(result.state()[0] + damped * result.state()[1], result.forecast()[h - 1], 1e-9);
+        }
+    }
+
+    @Test
+    public void etsSeasonalStateIsInForecastOrder() {
+        for (EtsModel.Season season : new EtsModel.Season[] {EtsModel.Season.ADDITIVE, EtsModel.Season.MULTIPLICATIVE}) {
+            EtsModel model = new EtsModel(EtsModel.Trend.ADDITIVE, season, 0.4, 0.2, 0.1, 1.0, 4);
+            ForecastResult result = new ForecastResult();
+            model.forecast(Y, 0, 22, 9, result);
+            double[] combined = model.forecast(Arrays.copyOf(Y, 22), 9);
+
+            for (int i = 0; i < 22; i++) {
+                assertEquals(combined[i], result.fitted()[i], 1e-9);
+            }
+            double[] state = result.state();
+            assertEquals(6, result.stateSize());
+            for (int h = 1; h <= 9; h++) {
+                double base = state[0] + h * state[1];
+                double index = state[2 + (h - 1) % 4];
+                double expected = (season == EtsModel.Season.ADDITIVE) ? base + index : base * index;
+                assertEquals(combined[22 + h - 1], result.forecast()[h - 1], 1e-9);
+                assertEquals(expected, result.forecast()[h - 1], 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+import tslib.util.SeriesPanel;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PanelForecastTest {
+
+    private static final int SERIES = 37;
+    private static final int LENGTH = 30;
+
+    @Test
+    public void lockstepMatchesPerSeriesForecast() {
+        SeriesPanel panel = randomPanel(new Random(7));
+        ExponentialSmoothing[] models = {
+                new SingleExpSmoothing(0.3),
+                new DoubleExpSmoothing(0.5, 0.6, 0),
+                new DoubleExpSmoothing(0.5, 0.6, 1),
+                new DoubleExpSmoothing(0.5, 0.6, 2),
+                new TripleExpSmoothing(0.5, 0.4, 0.6, 4, false),
+                new TripleExpSmoothing(0.2, 0.1, 0.3, 7, false)
+        };
+
+        for (ExponentialSmoothing model : models) {
+            for (int steps : new int[]{0, 1, 4, 9}) {
+                SeriesPanel out = new SeriesPanel(SERIES, LENGTH + steps);
+                model.forecast(panel, steps, out);
+
+                double[] series = new double[LENGTH];
+                for (int s = 0; s < SERIES; s++) {
+                    panel.copySeries(s, series, 0);
+                    double[] expected = model.forecast(series, steps);
+                    for (int t = 0; t < expected.length; t++) {
+                        assertEquals(expected[t], out.get(t, s), 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMismatchedOutputPanel() {
+        SeriesPanel panel = randomPanel(new Random(1));
+        new SingleExpSmoothing(0.3).forecast(panel, 2, new SeriesPanel(SERIES, LENGTH + 1));
+    }
+
+    private static SeriesPanel randomPanel(Random random) {
+        SeriesPanel panel = new SeriesPanel(SERIES, LENGTH);
+        for (int s = 0; s < SERIES; s++) {
+            for (int t = 0; t < LENGTH; t++) {
+                panel.set(t, s, 100 + 10 * Math.sin(t) + random.nextDouble() * 5);
+            }
+        }
+        return panel;
+    }
+}
@@ -0,0 +1,224 @@
+package tslib.model;
+
+import org.junit.Test;
+import tslib.model.expsmoothing.*;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PredictionIntervalsTest {
+
+    private static final double[] Y = {
+            362.0, 385.0, 432.0, 341.0, 382.0, 409.0, 498.0, 387.0, 473.0, 513.0, 582.0, 474.0,
+            544.0, 582.0, 681.0, 557.0, 628.0, 707.0, 773.0, 592.0, 627.0, 725.0, 854.0, 661.0
+    };
+
+    @Test
+    public void singlePointsMatchForecastAndWidthFollowsFormula() {
+        double alpha = 0.4;
+        SingleExpSmoothing model = new SingleExpSmoothing(alpha);
+        PredictionIntervals intervals = model.forecastIntervals(Y, 6, 0.95);
+        double[] forecast = model.forecast(Y, 6);
+
+        double sse = 0.0;
+        for (int i = 1; i < Y.length; i++) {
+            sse += (Y[i] - forecast[i - 1]) * (Y[i] - forecast[i - 1]);
+        }
+        double sigma = Math.sqrt(sse / (Y.length - 1));
+        assertEquals(sigma, intervals.sigma(), 1e-9);
+
+        for (int h = 1; h <= 6; h++) {
+            assertEquals(forecast[Y.length + h - 1], intervals.point()[h - 1], 0.0);
+            double halfWidth = 1.959963984540054 * sigma * Math.sqrt(1 + (h - 1) * alpha * alpha);
+            assertEquals(halfWidth, intervals.upper()[h - 1] - intervals.point()[h - 1], 1e-6);
+            assertEquals(halfWidth, intervals.point()[h - 1] - intervals.lower()[h - 1], 1e-6);
+        }
+    }
+
+    @Test
+    public void doublePointsMatchForecastAndWiden() {
+        DoubleExpSmoothing model = new DoubleExpSmoothing(0.5, 0.3, 1);
+        PredictionIntervals intervals = model.forecastIntervals(Y, 8, 0.9);
+        double[] forecast = model.forecast(Y, 8);
+
+        double previous = 0.0;
+        for (int h = 1; h <= 8; h++) {
+            assertEquals(forecast[Y.length + h - 1], intervals.point()[h - 1], 1e-9);
+            double width = intervals.upper()[h - 1] - intervals.lower()[h - 1];
+            assertTrue(width > previous);
+            previous = width;
+        }
+    }
+
+    @Test
+    public void triplePointsMatchUpdater() {
+        TripleExpSmoothing model = new TripleExpSmoothing(0.3, 0.2, 0.1, 4, false);
+        PredictionIntervals intervals = model.forecastIntervals(Y, 9, 0.95);
+
+        ExpSmoothingUpdater updater = model.newUpdater();
+        updater.initialize(Y, 0, Y.length);
+        for (int h = 1; h <= 9; h++) {
+            assertEquals(updater.forecast(h), intervals.point()[h - 1], 1e-9);
+            assertTrue(intervals.lower()[h - 1] < intervals.point()[h - 1]);
+            assertTrue(intervals.upper()[h - 1] > intervals.point()[h - 1]);
+        }
+        // the seasonal term joins the variance once a full period has passed
+        double jump5 = width(intervals, 5) - width(intervals, 4);
+        double jump4 = width(intervals, 4) - width(intervals, 3);
+        assertTrue(jump5 > jump4);
+    }
+
+    @Test
+    public void singleIntervalsCoverLocalLevelSeries() {
+        Random random = new Random(17);
+        double alpha = 0.4;
+        int series = 2000;
+        int n = 200;
+        int h = 5;
+        SingleExpSmoothing model = new SingleExpSmoothing(alpha);
+        PredictionIntervals intervals = new PredictionIntervals(h, 0.95);
+
+        int covered = 0;
+        double[] y = new double[n + h];
+        for (int s = 0; s < series; s++) {
+            double level = 10.0;
+            for (int t = 0; t < y.length; t++) {
+                double e = random.nextGaussian();
+                y[t] = level + e;
+                level += alpha * e;
+            }
+            model.forecastIntervals(y, 0, n, intervals);
+            double actual = y[n + h - 1];
+            if (actual >= intervals.lower()[h - 1] && actual <= intervals.upper()[h - 1]) {
+                covered++;
+            }
+        }
+        double coverage = covered / (double) series;
+        assertTrue("coverage " + coverage, coverage > 0.93 && coverage < 0.97);
+    }
+
+    @Test
+    public void reusedInstanceMatchesFreshOne() {
+        TripleExpSmoothing model = new TripleExpSmoothing(0.3, 0.2, 0.1, 4, false);
+        PredictionIntervals reused = new PredictionIntervals(4, 0.8);
+        model.forecastIntervals(Y, 0, 12, reused);
+        model.forecastIntervals(Y, 4, 20, reused);
+
+        PredictionIntervals fresh = new PredictionIntervals(4, 0.8);
+        model.forecastIntervals(Y, 4, 20, fresh);
+        assertArrayEquals(fresh.point(), reused.point(), 0.0);
+        assertArrayEquals(fresh.lower(), reused.lower(), 0.0);
+        assertArrayEquals(fresh.upper(), reused.upper(), 0.0);
+    }
+
+    @Test
+    public void etsDampedTrendWidthFollowsFormula() {
+        double alpha = 0.5, gamma = 0.2, phi = 0.9;
+        EtsModel model = EtsModel.dampedTrend(alpha, gamma, phi);
+        PredictionIntervals intervals = model.forecastIntervals(Y, 6, 0.95);
+        double[] forecast = model.forecast(Y, 6);
+
+        double sse = 0.0;
+        for (int i = 1; i < Y.length; i++) {
+            sse += (Y[i] - forecast[i]) * (Y[i] - forecast[i]);
+        }
+        double sigma = Math.sqrt(sse / (Y.length - 1));
+        assertEquals(sigma, intervals.sigma(), 1e-9);
+
+        double variance = 1.0;
+        double damped = 0.0;
+        for (int h = 1; h <= 6; h++) {
+            assertEquals(forecast[Y.length + h - 1], intervals.point()[h - 1], 1e-9);
+            double halfWidth = 1.959963984540054 * sigma * Math.sqrt(variance);
+            assertEquals(halfWidth, intervals.upper()[h - 1] - intervals.point()[h - 1], 1e-6);
+            damped += Math.pow(phi, h);
+            double c = alpha * (1 + gamma * damped);
+            variance += c * c;
+        }
+    }
+
+    @Test
+    public void etsAdditiveSeasonalPointsMatchForecast() {
+        EtsModel model = EtsModel.additiveHoltWinters(0.3, 0.2, 0.1, 4);
+        PredictionIntervals intervals = model.forecastIntervals(Y, 9, 0.95);
+        double[] forecast = model.forecast(Y, 9);
+
+        for (int h = 1; h <= 9; h++) {
+            assertEquals(forecast[Y.length + h - 1], intervals.point()[h - 1], 1e-9);
+        }
+        // the seasonal term joins the variance once a full period has passed
+        double jump5 = width(intervals, 5) - width(intervals, 4);
+        double jump4 = width(intervals, 4) - width(intervals, 3);
+        assertTrue(jump5 > jump4);
+    }
+
+    @Test
+    public void etsDampedIntervalsCoverDampedTrendSeries() {
+        Random random = new Random(23);
+        double alpha = 0.4, gamma = 0.3, phi = 0.9;
+        int series = 2000;
+        int n = 200;
+        int h = 5;
+        EtsModel model = EtsModel.dampedTrend(alpha, gamma, phi);
+        PredictionIntervals intervals = new PredictionIntervals(h, 0.95);
+
+        int covered = 0;
+        double[] y = new double[n + h];
+        for (int s = 0; s < series; s++) {
+            double level = 10.0;
+            double trend = 0.5;
+            for (int t = 0; t < y.length; t++) {
+                double e = random.nextGaussian();
+                double base = level + phi * trend;
+                y[t] = base + e;
+                level = base + alpha * e;
+                trend = phi * trend + alpha * gamma * e;
+            }
+            model.forecastIntervals(y, 0, n, intervals);
+            double actual = y[n + h - 1];
+            if (actual >= intervals.lower()[h - 1] && actual <= intervals.upper()[h - 1]) {
+                covered++;
+            }
+        }
+        double coverage = covered / (double) series;
+        assertTrue("coverage " + coverage, coverage > 0.93 && coverage < 0.97);
+    }
+
+    @Test
+    public void etsMultiplicativeSeasonUsesAdditiveMultipliers() {
+        double alpha = 0.3, beta = 0.2, gamma = 0.1, phi = 0.95;
+        EtsModel model = new EtsModel(EtsModel.Trend.DAMPED, EtsModel.Season.MULTIPLICATIVE,
+                alpha, beta, gamma, phi, 4);
+        PredictionIntervals intervals = model.forecastIntervals(Y, 9, 0.95);
+        double[] forecast = model.forecast(Y, 9);
+
+        double sse = 0.0;
+        for (int i = 0; i < Y.length; i++) {
+            sse += (Y[i] - forecast[i]) * (Y[i] - forecast[i]);
+        }
+        double sigma = Math.sqrt(sse / Y.length);
+        assertEquals(sigma, intervals.sigma(), 1e-9);
+
+        double variance = 1.0;
+        double damped = 0.0;
+        for (int h = 1; h <= 9; h++) {
+            assertEquals(forecast[Y.length + h - 1], intervals.point()[h - 1], 1e-9);
+            double halfWidth = 1.959963984540054 * sigma * Math.sqrt(variance);
+            assertEquals(halfWidth, intervals.upper()[h - 1] - intervals.point()[h - 1], 1e-6);
+            assertEquals(halfWidth, intervals.point()[h - 1] - intervals.lower()[h - 1], 1e-6);
+            damped += Math.pow(phi, h);
+            double c = alpha * (1 + gamma * damped) + ((h % 4 == 0) ? beta * (1 - alpha) : 0.0);
+            variance += c * c;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidLevel() {
+        new PredictionIntervals(3, 1.0);
+    }
+
+    private static double width(PredictionIntervals intervals, int h) {
+        return intervals.upper()[h - 1] - intervals.lower()[h - 1];
+    }
+}
@@ -2,8 +2,11 @@ package tslib.movingaverage;
 
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -46,4 +49,37 @@ public class CumulativeMovingAverageTest {
         List<Double> output = cma.compute(input);
         assertTrue(output.isEmpty());
     }
+
+    @Test
+    public void testCompensatedMeanStaysExact() {
+        Random random = new Random(11);
+        CumulativeMovingAverage cma = new CumulativeMovingAverage(true);
+        BigDecimal exact = BigDecimal.ZERO;
+        for (int i = 1; i <= 200_000; i++) {
+            double x = 1e8 + random.nextDouble();
+            exact = exact.add(new BigDecimal(x));
+            double value = cma.push(x);
+            if (i % 997 == 0) {
+                double expected = exact.divide(BigDecimal.valueOf(i),
+                        MathContext.DECIMAL128).doubleValue();
+                assertEquals(expected, value, 2 * Math.ulp(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testCombineMatchesSinglePass() {
+        for (boolean compensated : new boolean[] {false, true}) {
+            CumulativeMovingAverage whole = new CumulativeMovingAverage(compensated);
+            CumulativeMovingAverage left = new CumulativeMovingAverage(compensated);
+            CumulativeMovingAverage right = new CumulativeMovingAverage(compensated);
+            for (int i = 0; i < 1000; i++) {
+                double y = 1e6 + i * 0.1;
+                whole.add(y);
+                (i < 400 ? left : right).add(y);
+            }
+            // add() returns the updated average, so fold in the same final point on both sides
+            assertEquals(whole.add(0.0), left.combine(right).add(0.0), 1e-6);
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package tslib.movingaverage;
+
+import org.junit.Test;
+import tslib.util.SeriesPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MovingAveragePipelineTest {
+
+    private static double[] data(int n) {
+        Random random = new Random(5);
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            y[i] = 100 + random.nextGaussian();
+        }
+        return y;
+    }
+
+    @Test
+    public void columnsMatchIndividualAverages() {
+        MovingAveragePipeline pipeline = MovingAveragePipeline.builder()
+                .sma(3, 10).wma(5).ema(0.3).cma()
+                .build();
+        MovingAverage[] reference = {
+                new SimpleMovingAverage(3), new SimpleMovingAverage(10), new WeightedMovingAverage(5),
+                new ExponentialMovingAverage(0.3), new CumulativeMovingAverage()
+        };
+        double[] y = data(50);
+        SeriesPanel out = pipeline.newOutput(y.length);
+        pipeline.run(y, 0, y.length, out);
+
+        assertEquals(reference.length, pipeline.size());
+        for (int c = 0; c < reference.length; c++) {
+            List<Double> boxed = new ArrayList<>();
+            for (double v : y) {
+                boxed.add(v);
+            }
+            List<Double> expected = reference[c].compute(boxed);
+            for (int t = 0; t < y.length; t++) {
+                if (expected.get(t) == null) {
+                    assertTrue(Double.isNaN(out.get(t, c)));
+                } else {
+                    assertEquals(expected.get(t), out.get(t, c), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void runResetsBetweenSeries() {
+        MovingAveragePipeline pipeline = MovingAveragePipeline.builder().sma(4).cma().build();
+        double[] y = data(30);
+        SeriesPanel first = pipeline.newOutput(20);
+        SeriesPanel second = pipeline.newOutput(20);
+        pipeline.run(y, 10, 20, first);
+        pipeline.run(y, 0, 30, pipeline.newOutput(30));
+        pipeline.run(y, 10, 20, second);
+        assertArrayEquals(first.values(), second.values(), 0.0);
+    }
+
+    @Test
+    public void pushWritesOneRow() {
+        MovingAveragePipeline pipeline = MovingAveragePipeline.builder().sma(2).ema(0.5).build();
+        double[] row = new double[3];
+        pipeline.push(2.0, row, 1);
+        pipeline.push(4.0, row, 1);
+        assertEquals(0.0, row[0], 0.0);
+        assertEquals(3.0, row[1], 0.0);
+        assertEquals(3.0, row[2], 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMismatchedOutput() {
+        MovingAveragePipeline pipeline = MovingAveragePipeline.builder().sma(2).build();
+        pipeline.run(data(10), 0, 10, new SeriesPanel(2, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyPipeline() {
+        MovingAveragePipeline.builder().build();
+    }
+}
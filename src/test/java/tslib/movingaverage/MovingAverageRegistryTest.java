@@ -0,0 +1,118 @@
+package tslib.movingaverage;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MovingAverageRegistryTest {
+
+    @Test
+    public void emaMatchesExponentialMovingAverage() {
+        MovingAverageRegistry registry = MovingAverageRegistry.ema(0.3);
+        ExponentialMovingAverage a = new ExponentialMovingAverage(0.3);
+        ExponentialMovingAverage b = new ExponentialMovingAverage(0.3);
+        Random random = new Random(4);
+        for (int i = 0; i < 100; i++) {
+            double x = random.nextGaussian();
+            double y = random.nextGaussian();
+            assertEquals(a.push(x), registry.push(7L, x), 0.0);
+            assertEquals(b.push(y), registry.push("cpu.host-1", y), 0.0);
+        }
+        assertEquals(2, registry.size());
+        assertTrue(Double.isNaN(registry.get(8L)));
+    }
+
+    @Test
+    public void cmaMatchesCumulativeMovingAverage() {
+        MovingAverageRegistry registry = MovingAverageRegistry.cma();
+        CumulativeMovingAverage cma = new CumulativeMovingAverage();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(cma.push(i * 1.5), registry.push(-1L, i * 1.5), 0.0);
+        }
+        assertEquals(cma.push(0.0), registry.push(-1L, 0.0), 0.0);
+    }
+
+    @Test
+    public void manyKeysSurviveGrowthAndRemoval() {
+        MovingAverageRegistry registry = MovingAverageRegistry.ema(0.5, 4, System::nanoTime);
+        int n = 100_000;
+        for (long k = 0; k < n; k++) {
+            registry.push(k, k);
+        }
+        assertEquals(n, registry.size());
+        for (long k = 0; k < n; k += 2) {
+            assertTrue(registry.remove(k));
+        }
+        assertFalse(registry.remove(0L));
+        assertEquals(n / 2, registry.size());
+        for (long k = 0; k < n; k++) {
+            if (k % 2 == 0) {
+                assertTrue(Double.isNaN(registry.get(k)));
+            } else {
+                assertEquals(k, registry.get(k), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void evictsIdleStreams() {
+        AtomicLong now = new AtomicLong(0);
+        MovingAverageRegistry registry = MovingAverageRegistry.cma(2, now::get);
+        for (long k = 0; k < 1000; k++) {
+            registry.push(k, 1.0);
+        }
+        now.set(Duration.ofMinutes(10).toNanos());
+        for (long k = 0; k < 1000; k += 10) {
+            registry.push(k, 3.0);
+        }
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertEquals(900, registry.evictIdle(Duration.ofMinutes(5)));
+        assertEquals(100, registry.size());
+        for (long k = 0; k < 1000; k++) {
+            double expected = (k % 10 == 0) ? 2.0 : Double.NaN;
+            assertEquals(expected, registry.get(k), 0.0);
+        }
+    }
+
+    @Test
+    public void concurrentUpdatesLoseNothing() throws Exception {
+        MovingAverageRegistry registry = MovingAverageRegistry.cma(8, System::nanoTime);
+        int threads = 4;
+        int keys = 1000;
+        int rounds = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                double value = t;
+                futures.add(pool.submit(() -> {
+                    for (int r = 0; r < rounds; r++) {
+                        for (long k = 0; k < keys; k++) {
+                            registry.push(k, k + value);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(keys, registry.size());
+        for (long k = 0; k < keys; k++) {
+            // each thread contributes the same number of points, whatever the interleaving
+            assertEquals(k + 1.5, registry.get(k), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package tslib.movingaverage;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Streaming contract shared by every MovingAverage: push() agrees with compute(),
+ * with NaN in place of null until the average is ready.
+ */
+public class MovingAverageTest {
+
+    private static List<Double> data() {
+        Random random = new Random(3);
+        List<Double> data = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            data.add(50 + 5 * random.nextGaussian());
+        }
+        return data;
+    }
+
+    private static void assertPushMatchesCompute(MovingAverage ma) {
+        List<Double> data = data();
+        List<Double> expected = ma.compute(data);
+
+        ma.reset();
+        assertFalse(ma.isReady());
+        for (int i = 0; i < data.size(); i++) {
+            double value = ma.push(data.get(i));
+            if (expected.get(i) == null) {
+                assertFalse(ma.isReady());
+                assertTrue(Double.isNaN(value));
+            } else {
+                assertTrue(ma.isReady());
+                assertEquals(expected.get(i), value, 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void simplePushMatchesCompute() {
+        assertPushMatchesCompute(new SimpleMovingAverage(10));
+    }
+
+    @Test
+    public void weightedPushMatchesCompute() {
+        assertPushMatchesCompute(new WeightedMovingAverage(10));
+    }
+
+    @Test
+    public void cumulativePushMatchesCompute() {
+        assertPushMatchesCompute(new CumulativeMovingAverage());
+    }
+
+    @Test
+    public void exponentialPushMatchesCompute() {
+        assertPushMatchesCompute(new ExponentialMovingAverage(0.2));
+    }
+
+    @Test
+    public void resetClearsReadiness() {
+        MovingAverage sma = new SimpleMovingAverage(2);
+        sma.push(1.0);
+        assertEquals(1.5, sma.push(2.0), 0.0);
+        sma.reset();
+        assertFalse(sma.isReady());
+        assertTrue(Double.isNaN(sma.push(3.0)));
+    }
+}
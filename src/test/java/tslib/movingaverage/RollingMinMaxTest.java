@@ -0,0 +1,70 @@
+package tslib.movingaverage;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RollingMinMaxTest {
+
+    @Test
+    public void testSmallWindow() {
+        List<Double> data = Arrays.asList(3.0, 1.0, 4.0, 1.0, 5.0, 9.0, 2.0, 6.0);
+        List<Double> min = new RollingMin(3).compute(data);
+        List<Double> max = new RollingMax(3).compute(data);
+
+        assertNull(min.get(0));
+        assertNull(max.get(1));
+        assertEquals(Arrays.asList(null, null, 1.0, 1.0, 1.0, 1.0, 2.0, 2.0), min);
+        assertEquals(Arrays.asList(null, null, 4.0, 4.0, 5.0, 9.0, 9.0, 9.0), max);
+    }
+
+    @Test
+    public void testMatchesDirectComputation() {
+        Random random = new Random(13);
+        double[] data = new double[3000];
+        for (int i = 0; i < data.length; i++) {
+            // repeated values exercise the ties in the deque
+            data[i] = random.nextInt(50);
+        }
+        for (int window : new int[]{1, 2, 17, 500}) {
+            RollingMin min = new RollingMin(window);
+            RollingMax max = new RollingMax(window);
+            for (int i = 0; i < data.length; i++) {
+                double lo = min.push(data[i]);
+                double hi = max.push(data[i]);
+                if (i < window - 1) {
+                    assertTrue(Double.isNaN(lo) && Double.isNaN(hi));
+                    continue;
+                }
+                double expectedLo = Double.POSITIVE_INFINITY;
+                double expectedHi = Double.NEGATIVE_INFINITY;
+                for (int k = i - window + 1; k <= i; k++) {
+                    expectedLo = Math.min(expectedLo, data[k]);
+                    expectedHi = Math.max(expectedHi, data[k]);
+                }
+                assertEquals(expectedLo, lo, 0.0);
+                assertEquals(expectedHi, hi, 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testResetFunctionality() {
+        RollingMax max = new RollingMax(2);
+        max.push(10.0);
+        max.push(1.0);
+        max.reset();
+        assertFalse(max.isReady());
+        max.push(2.0);
+        assertEquals(3.0, max.push(3.0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindow() {
+        new RollingMin(0);
+    }
+}
@@ -0,0 +1,67 @@
+package tslib.movingaverage;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RollingQuantileTest {
+
+    private static double quantile(double[] data, int from, int to, double q) {
+        double[] window = Arrays.copyOfRange(data, from, to);
+        Arrays.sort(window);
+        double h = (window.length - 1) * q;
+        int lo = (int) Math.floor(h);
+        return (lo + 1 < window.length) ? window[lo] + (h - lo) * (window[lo + 1] - window[lo]) : window[lo];
+    }
+
+    @Test
+    public void testMedianOddAndEvenWindows() {
+        List<Double> data = Arrays.asList(5.0, 1.0, 3.0, 2.0, 8.0);
+        assertEquals(Arrays.asList(null, null, 3.0, 2.0, 3.0), RollingQuantile.median(3).compute(data));
+        assertEquals(Arrays.asList(null, 3.0, 2.0, 2.5, 5.0), RollingQuantile.median(2).compute(data));
+    }
+
+    @Test
+    public void testMatchesSortedWindow() {
+        Random random = new Random(21);
+        double[] data = new double[2000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (i % 3 == 0) ? random.nextInt(10) : random.nextGaussian();
+        }
+        for (int window : new int[]{1, 4, 31, 256}) {
+            for (double q : new double[]{0.0, 0.1, 0.5, 0.95, 1.0}) {
+                RollingQuantile rolling = new RollingQuantile(window, q);
+                for (int i = 0; i < data.length; i++) {
+                    double value = rolling.push(data[i]);
+                    if (i >= window - 1) {
+                        assertEquals(quantile(data, i - window + 1, i + 1, q), value, 1e-12);
+                    } else {
+                        assertTrue(Double.isNaN(value));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testResetFunctionality() {
+        RollingQuantile median = RollingQuantile.median(3);
+        for (double v : new double[]{100, 200, 300, 400}) {
+            median.push(v);
+        }
+        median.reset();
+        assertFalse(median.isReady());
+        median.push(1.0);
+        median.push(3.0);
+        assertEquals(2.0, median.push(2.0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQuantile() {
+        new RollingQuantile(5, 1.5);
+    }
+}
@@ -2,8 +2,11 @@ package tslib.movingaverage;
 
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -55,4 +58,46 @@ public class SimpleMovingAverageTest {
     public void testInvalidPeriod() {
         new SimpleMovingAverage(0); // Should throw exception
     }
+
+    @Test
+    public void testLongStreamMatchesDirectComputation() {
+        Random random = new Random(7);
+        List<Double> input = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            input.add(random.nextGaussian() * 10 + 100);
+        }
+        for (int window : new int[]{1, 3, 64}) {
+            List<Double> result = new SimpleMovingAverage(window).compute(input);
+            for (int i = window - 1; i < input.size(); i++) {
+                double expected = 0.0;
+                for (int k = i - window + 1; k <= i; k++) {
+                    expected += input.get(k);
+                }
+                assertEquals(expected / window, result.get(i), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testCompensatedSumStaysExactOverLongStream() {
+        // Large offset plus noise: a plain running sum loses the noise bits as it drifts
+        Random random = new Random(11);
+        int window = 16;
+        double[] data = new double[200_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 1e8 + random.nextDouble();
+        }
+        SimpleMovingAverage sma = new SimpleMovingAverage(window, true);
+        for (int i = 0; i < data.length; i++) {
+            double value = sma.push(data[i]);
+            if (i >= window - 1 && i % 997 == 0) {
+                BigDecimal exact = BigDecimal.ZERO;
+                for (int k = i - window + 1; k <= i; k++) {
+                    exact = exact.add(new BigDecimal(data[k]));
+                }
+                double expected = exact.divide(BigDecimal.valueOf(window)).doubleValue();
+                assertEquals(expected, value, 2 * Math.ulp(expected));
+            }
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package tslib.movingaverage;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TimedMovingAverageTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void regularSpacingConvergesToEma() {
+        Duration tau = Duration.ofSeconds(4);
+        double alpha = 1 - Math.exp(-1.0 / 4);
+        TimedExponentialMovingAverage timed = new TimedExponentialMovingAverage(tau);
+        ExponentialMovingAverage ema = new ExponentialMovingAverage(alpha);
+
+        Random random = new Random(1);
+        double t = 0, e = 0;
+        for (int i = 0; i < 500; i++) {
+            double x = random.nextGaussian();
+            t = timed.push(i * SECOND, x);
+            e = ema.push(x);
+        }
+        assertEquals(e, t, 1e-9);
+    }
+
+    @Test
+    public void burstCountsEveryPoint() {
+        TimedExponentialMovingAverage ema = new TimedExponentialMovingAverage(Duration.ofSeconds(10));
+        assertFalse(ema.isReady());
+        ema.push(5 * SECOND, 1.0);
+        ema.push(5 * SECOND, 2.0);
+        assertEquals(2.0, ema.push(5 * SECOND, 3.0), 1e-12);
+        assertTrue(ema.isReady());
+    }
+
+    @Test
+    public void longGapForgetsHistory() {
+        TimedExponentialMovingAverage ema = new TimedExponentialMovingAverage(Duration.ofSeconds(1));
+        for (int i = 0; i < 10; i++) {
+            ema.push(i * SECOND, 100.0);
+        }
+        assertEquals(0.0, ema.push(1000 * SECOND, 0.0), 1e-12);
+    }
+
+    @Test
+    public void timedSmaMatchesDirectWindow() {
+        Duration window = Duration.ofSeconds(5);
+        TimedSimpleMovingAverage sma = new TimedSimpleMovingAverage(window);
+        Random random = new Random(2);
+        int n = 3000;
+        long[] ts = new long[n];
+        double[] xs = new double[n];
+        long now = 0;
+        for (int i = 0; i < n; i++) {
+            // bursts of simultaneous points, quiet stretches and everything in between
+            int kind = random.nextInt(10);
+            now += (kind == 0) ? 0 : (kind == 1) ? 20 * SECOND : (long) (random.nextDouble() * SECOND / 4);
+            ts[i] = now;
+            xs[i] = random.nextGaussian();
+        }
+
+        double[] out = new double[n];
+        sma.compute(ts, xs, 0, n, out, 0);
+        for (int i = 0; i < n; i++) {
+            if (ts[i] - ts[0] < window.toNanos()) {
+                assertTrue(Double.isNaN(out[i]));
+                continue;
+            }
+            double sum = 0;
+            int count = 0;
+            for (int k = 0; k <= i; k++) {
+                if (ts[k] > ts[i] - window.toNanos()) {
+                    sum += xs[k];
+                    count++;
+                }
+            }
+            assertEquals(sum / count, out[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void timedSmaGrowsForLargeBursts() {
+        TimedSimpleMovingAverage sma = new TimedSimpleMovingAverage(Duration.ofSeconds(1));
+        sma.push(0, 0.0);
+        for (int i = 1; i <= 100; i++) {
+            assertTrue(Double.isNaN(sma.push(SECOND / 2, i)));
+        }
+        assertEquals(101, sma.size());
+        // the point at 0 leaves, the new one joins the hundred from the burst
+        assertEquals(5050.0 / 101, sma.push(SECOND + 1, 0.0), 1e-12);
+        assertEquals(101, sma.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDecreasingTimestamps() {
+        TimedExponentialMovingAverage ema = new TimedExponentialMovingAverage(Duration.ofSeconds(1));
+        ema.push(10, 1.0);
+        ema.push(9, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyWindow() {
+        new TimedSimpleMovingAverage(Duration.ZERO);
+    }
+}
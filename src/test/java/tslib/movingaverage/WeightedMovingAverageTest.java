@@ -4,9 +4,12 @@ import org.junit.Test;
 import org.junit.Before;
 import static org.junit.Assert.*;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Random;
 
 /**
  * Comprehensive unit tests for WeightedMovingAverage.
@@ -270,4 +273,60 @@ public class WeightedMovingAverageTest {
         // Expected: -15/15 = -1.0
         assertEquals(-1.0, result.get(4), 1e-10);
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testLongStreamMatchesDirectComputation() {
+        // The running sums must track a from-scratch weighted sum over many slides
+        Random random = new Random(7);
+        List<Double> data = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            data.add(random.nextGaussian() * 10 + 100);
+        }
+        for (int period : new int[]{1, 2, 7, 64}) {
+            List<Double> result = new WeightedMovingAverage(period).compute(data);
+            double weightSum = period * (period + 1) / 2.0;
+            for (int i = period - 1; i < data.size(); i++) {
+                double expected = 0.0;
+                for (int k = 0; k < period; k++) {
+                    expected += (k + 1) * data.get(i - period + 1 + k);
+                }
+                assertEquals(expected / weightSum, result.get(i), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testCompensatedSumsStayExactOverLongStream() {
+        Random random = new Random(11);
+        int period = 16;
+        double[] data = new double[200_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 1e8 + random.nextDouble();
+        }
+        WeightedMovingAverage compensated = new WeightedMovingAverage(period, true);
+        double weightSum = period * (period + 1) / 2.0;
+        for (int i = 0; i < data.length; i++) {
+            double value = compensated.push(data[i]);
+            if (i >= period - 1 && i % 997 == 0) {
+                BigDecimal exact = BigDecimal.ZERO;
+                for (int k = 0; k < period; k++) {
+                    exact = exact.add(new BigDecimal(data[i - period + 1 + k])
+                            .multiply(BigDecimal.valueOf(k + 1)));
+                }
+                double expected = exact.divide(new BigDecimal(weightSum),
+                        MathContext.DECIMAL128).doubleValue();
+                assertEquals(expected, value, 2 * Math.ulp(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testCompensatedMatchesDefault() {
+        List<Double> data = Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0);
+        List<Double> result = new WeightedMovingAverage(5, true).compute(data);
+        assertNull(result.get(3));
+        assertEquals(55.0/15.0, result.get(4), 1e-12);
+        assertEquals(70.0/15.0, result.get(5), 1e-12);
+        assertEquals(85.0/15.0, result.get(6), 1e-12);
+    }
+}
@@ -0,0 +1,100 @@
+package tslib.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AutocorrelationTest {
+
+    private static double[] series(int n, long seed) {
+        Random random = new Random(seed);
+        double[] y = new double[n];
+        for (int t = 0; t < n; t++) {
+            y[t] = 50 + 10 * Math.sin(2 * Math.PI * t / 7) + 0.01 * t + random.nextGaussian();
+        }
+        return y;
+    }
+
+    private static List<Double> boxed(double[] y) {
+        List<Double> list = new ArrayList<>();
+        for (double v : y) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    @Test
+    public void directMatchesPerLagStats() {
+        double[] y = series(200, 1);
+        List<Double> list = boxed(y);
+        double[] acf = Autocorrelation.direct(y, 30);
+        for (int k = 0; k <= 30; k++) {
+            assertEquals(Stats.getAutoCorrelation(list, k), acf[k], 1e-12);
+        }
+    }
+
+    @Test
+    public void fftMatchesDirectForAllLengths() {
+        // Odd, even and power-of-two lengths, lags below and beyond the series length
+        for (int n = 1; n <= 70; n++) {
+            double[] y = series(n, n);
+            for (int lags : new int[] {0, 1, 5, n - 1, n + 3}) {
+                if (lags < 0) continue;
+                assertArrayEquals("n=" + n + " lags=" + lags,
+                        Autocorrelation.direct(y, lags), Autocorrelation.fft(y, lags), 1e-10);
+            }
+        }
+    }
+
+    @Test
+    public void fftMatchesDirectOnLongSeries() {
+        double[] y = series(100_000, 3);
+        assertArrayEquals(Autocorrelation.direct(y, 300), Autocorrelation.fft(y, 300), 1e-10);
+    }
+
+    @Test
+    public void crossoverPicksDirectForFewLagsAndFftForMany() {
+        assertFalse(Autocorrelation.useFft(10_000, 10));
+        assertTrue(Autocorrelation.useFft(10_000, 200));
+        assertFalse(Autocorrelation.useFft(10_000_000, 20));
+        assertTrue(Autocorrelation.useFft(10_000_000, 2000));
+    }
+
+    @Test
+    public void seriesTooLongForFftUsesDirectSums() {
+        assertFalse(Autocorrelation.useFft(Integer.MAX_VALUE - 10, 5));
+        assertFalse(Autocorrelation.useFft(Integer.MAX_VALUE - 10, 1_000_000));
+    }
+
+    @Test
+    public void constantSeriesHasZeroAutocorrelation() {
+        double[] y = new double[64];
+        Arrays.fill(y, 3.0);
+        assertArrayEquals(new double[11], Autocorrelation.fft(y, 10), 0.0);
+        assertArrayEquals(new double[11], Autocorrelation.direct(y, 10), 0.0);
+    }
+
+    @Test
+    public void transformRoundTrips() {
+        double[] re = series(16, 4);
+        double[] im = series(16, 5);
+        double[] re0 = re.clone();
+        double[] im0 = im.clone();
+        Autocorrelation.transform(re, im, false);
+        Autocorrelation.transform(re, im, true);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(re0[i], re[i] / 16, 1e-12);
+            assertEquals(im0[i], im[i] / 16, 1e-12);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeLags() {
+        Autocorrelation.acf(new double[] {1, 2, 3}, -1);
+    }
+}
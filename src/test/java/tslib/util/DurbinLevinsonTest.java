@@ -0,0 +1,118 @@
+package tslib.util;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.RealVector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DurbinLevinsonTest {
+
+    /** AR(2) with phi = (0.6, -0.3). */
+    private static double[] ar2(int n, long seed) {
+        Random random = new Random(seed);
+        double[] y = new double[n];
+        for (int t = 2; t < n; t++) {
+            y[t] = 0.6 * y[t - 1] - 0.3 * y[t - 2] + random.nextGaussian();
+        }
+        return y;
+    }
+
+    private static RealVector yuleWalker(double[] acf, int order) {
+        double[][] matrix = new double[order][order];
+        double[] rhs = new double[order];
+        for (int i = 0; i < order; i++) {
+            rhs[i] = acf[i + 1];
+            for (int j = 0; j < order; j++) {
+                matrix[i][j] = acf[Math.abs(i - j)];
+            }
+        }
+        return new LUDecomposition(new Array2DRowRealMatrix(matrix)).getSolver().solve(new ArrayRealVector(rhs));
+    }
+
+    @Test
+    public void matchesPerOrderLuSolves() {
+        double[] acf = Autocorrelation.acf(ar2(500, 1), 12);
+        DurbinLevinson fit = DurbinLevinson.fit(acf, 12);
+        for (int k = 1; k <= 12; k++) {
+            assertEquals("lag " + k, yuleWalker(acf, k).getEntry(k - 1), fit.pacf()[k], 1e-10);
+        }
+        assertArrayEquals(yuleWalker(acf, 12).toArray(), fit.arCoefficients(), 1e-10);
+        assertEquals(1.0, fit.pacf()[0], 0.0);
+    }
+
+    @Test
+    public void recoversArProcess() {
+        double[] y = ar2(200_000, 2);
+        DurbinLevinson fit = DurbinLevinson.fit(Autocorrelation.acf(y, 2), 2);
+        assertEquals(0.6, fit.arCoefficients()[0], 0.01);
+        assertEquals(-0.3, fit.arCoefficients()[1], 0.01);
+
+        // Beyond the true order the partial autocorrelations vanish
+        double[] pacf = DurbinLevinson.fit(Autocorrelation.acf(y, 6), 6).pacf();
+        for (int k = 3; k <= 6; k++) {
+            assertEquals(0.0, pacf[k], 0.01);
+        }
+    }
+
+    @Test
+    public void matchesLuSolvesWhenMaxLagIsCloseToLength() {
+        // Dividing by n - k leaves the ACF indefinite at high lags; the systems stay solvable
+        Random random = new Random(5);
+        for (int trial = 0; trial < 50; trial++) {
+            double[] y = new double[20 + random.nextInt(30)];
+            for (int t = 0; t < y.length; t++) {
+                y[t] = random.nextGaussian();
+            }
+            int maxLag = y.length - 2;
+            double[] acf = Autocorrelation.acf(y, maxLag);
+            double[] pacf = DurbinLevinson.fit(acf, maxLag).pacf();
+            for (int k = 1; k <= maxLag; k++) {
+                double expected = yuleWalker(acf, k).getEntry(k - 1);
+                assertEquals("n " + y.length + " lag " + k, expected, pacf[k], 1e-6 * Math.max(1, Math.abs(expected)));
+            }
+        }
+    }
+
+    @Test
+    public void predictionErrorsDecrease() {
+        double[] errors = DurbinLevinson.fit(Autocorrelation.acf(ar2(1000, 3), 5), 5).predictionErrors();
+        for (int k = 1; k < errors.length; k++) {
+            assertTrue(errors[k] <= errors[k - 1]);
+        }
+    }
+
+    @Test
+    public void statsPacfUsesRecursion() {
+        double[] y = ar2(300, 4);
+        List<Double> list = new ArrayList<>();
+        for (double v : y) {
+            list.add(v);
+        }
+        double[] acf = Stats.getAcf(list, 8);
+        double[] pacf = Stats.getPacf(list, 8);
+        for (int k = 1; k <= 8; k++) {
+            assertEquals(yuleWalker(acf, k).getEntry(k - 1), pacf[k], 1e-10);
+        }
+    }
+
+    @Test
+    public void constantSeriesIsNaN() {
+        double[] pacf = DurbinLevinson.fit(Autocorrelation.acf(new double[] {2, 2, 2, 2, 2}, 3), 3).pacf();
+        assertEquals(1.0, pacf[0], 0.0);
+        for (int k = 1; k <= 3; k++) {
+            assertTrue(Double.isNaN(pacf[k]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShortAcf() {
+        DurbinLevinson.fit(new double[] {1.0, 0.5}, 2);
+    }
+}
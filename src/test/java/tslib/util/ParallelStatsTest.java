@@ -0,0 +1,90 @@
+package tslib.util;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelStatsTest {
+
+    private static double[] series(int n, long seed) {
+        Random random = new Random(seed);
+        double[] y = new double[n];
+        double prev = 0;
+        for (int t = 0; t < n; t++) {
+            prev = 0.6 * prev + random.nextGaussian();
+            y[t] = 100 + prev;
+        }
+        return y;
+    }
+
+    private static DoubleBuffer direct(double[] y) {
+        DoubleBuffer buffer = ByteBuffer.allocateDirect(8 * y.length).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        buffer.put(y).flip();
+        return buffer;
+    }
+
+    @Test
+    public void matchesSequentialStats() {
+        double[] y = series(10_000, 1);
+        ParallelStats stats = new ParallelStats(ForkJoinPool.commonPool(), 1000);
+        int offset = 37;
+        int n = 9_000;
+
+        assertEquals(Stats.average(y, offset, n), stats.average(y, offset, n), 1e-9);
+        assertEquals(Stats.variance(y, offset, n), stats.variance(y, offset, n), 1e-9);
+        assertArrayEquals(Stats.getMinMax(y, offset, n), stats.getMinMax(y, offset, n), 0.0);
+
+        int[] lags = {0, 1, 7, 999, 1000, 2500, n, n + 5};
+        double[] acov = stats.getAutoCovariances(y, offset, n, lags);
+        for (int j = 0; j < lags.length; j++) {
+            assertEquals("lag " + lags[j], Stats.getAutoCovariance(y, offset, n, lags[j]), acov[j], 1e-9);
+        }
+    }
+
+    @Test
+    public void independentOfThreadCount() {
+        double[] y = series(50_000, 2);
+        int[] lags = {1, 2, 12, 365};
+        ParallelStats one = new ParallelStats(new ForkJoinPool(1), 4096);
+        ParallelStats four = new ParallelStats(new ForkJoinPool(4), 4096);
+
+        assertEquals(Double.doubleToLongBits(one.variance(y, 0, y.length)),
+                Double.doubleToLongBits(four.variance(y, 0, y.length)));
+        double[] a = one.getAutoCovariances(y, 0, y.length, lags);
+        double[] b = four.getAutoCovariances(y, 0, y.length, lags);
+        for (int j = 0; j < lags.length; j++) {
+            assertEquals(Double.doubleToLongBits(a[j]), Double.doubleToLongBits(b[j]));
+        }
+    }
+
+    @Test
+    public void directBufferMatchesArray() {
+        double[] y = series(20_000, 3);
+        ParallelStats stats = new ParallelStats(ForkJoinPool.commonPool(), 3000);
+        DoubleBuffer buffer = direct(y);
+        buffer.position(100);
+        int n = y.length - 100;
+        int[] lags = {0, 3, 2999, 3001, 7000};
+
+        assertEquals(Double.doubleToLongBits(stats.variance(y, 100, n)), Double.doubleToLongBits(stats.variance(buffer)));
+        assertArrayEquals(stats.getMinMax(y, 100, n), stats.getMinMax(buffer), 0.0);
+        assertArrayEquals(stats.getAutoCovariances(y, 100, n, lags), stats.getAutoCovariances(buffer, lags), 0.0);
+        assertEquals(100, buffer.position());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeLag() {
+        new ParallelStats().getAutoCovariances(new double[]{1, 2, 3}, 0, 3, 1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyRange() {
+        new ParallelStats().average(new double[]{1, 2, 3}, 1, 0);
+    }
+}
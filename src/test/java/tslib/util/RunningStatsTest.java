@@ -0,0 +1,136 @@
+package tslib.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RunningStatsTest {
+
+    private static final int MAX_LAG = 6;
+
+    private static double[] series(int n, long seed) {
+        Random random = new Random(seed);
+        double[] data = new double[n];
+        for (int t = 0; t < n; t++) {
+            data[t] = 1000 + 5 * Math.sin(t / 3.0) + random.nextGaussian();
+        }
+        return data;
+    }
+
+    private static List<Double> boxed(double[] data) {
+        List<Double> list = new ArrayList<>(data.length);
+        for (double y : data) {
+            list.add(y);
+        }
+        return list;
+    }
+
+    private static void assertMatchesStats(double[] data, RunningStats stats) {
+        List<Double> list = boxed(data);
+        assertEquals(data.length, stats.count());
+        assertEquals(Stats.average(list), stats.mean(), 1e-9);
+        assertEquals(Stats.variance(list), stats.variance(), 1e-9);
+        assertEquals(Stats.getMinimum(list), stats.min(), 0.0);
+        assertEquals(Stats.getMaximum(list), stats.max(), 0.0);
+        for (int k = 0; k <= MAX_LAG; k++) {
+            assertEquals("lag " + k, Stats.getAutoCovariance(list, k), stats.autoCovariance(k), 1e-8);
+            assertEquals("lag " + k, Stats.getAutoCorrelation(list, k), stats.autoCorrelation(k), 1e-9);
+        }
+    }
+
+    @Test
+    public void streamingMatchesStats() {
+        double[] data = series(500, 1);
+        assertMatchesStats(data, RunningStats.of(data, 0, data.length, MAX_LAG));
+    }
+
+    @Test
+    public void combineMatchesStatsForEverySplit() {
+        double[] data = series(40, 2);
+        for (int split = 0; split <= data.length; split++) {
+            RunningStats left = RunningStats.of(data, 0, split, MAX_LAG);
+            RunningStats right = RunningStats.of(data, split, data.length - split, MAX_LAG);
+            assertMatchesStats(data, left.combine(right));
+        }
+    }
+
+    @Test
+    public void reduceHandlesPartitionsShorterThanMaxLag() {
+        double[] data = series(103, 3);
+        List<RunningStats> parts = new ArrayList<>();
+        int[] sizes = {1, 2, 1, 9, 3, 0, 17, 1, 50, 4, 15};
+        int offset = 0;
+        for (int size : sizes) {
+            parts.add(RunningStats.of(data, offset, size, MAX_LAG));
+            offset += size;
+        }
+        assertEquals(data.length, offset);
+        assertMatchesStats(data, RunningStats.reduce(parts));
+    }
+
+    @Test
+    public void reduceIsBitForBitReproducible() {
+        double[] data = series(10_000, 4);
+        List<RunningStats> parts = new ArrayList<>();
+        for (int offset = 0; offset < data.length; offset += 777) {
+            parts.add(RunningStats.of(data, offset, Math.min(777, data.length - offset), MAX_LAG));
+        }
+        // Parts are built in a shuffled order, as workers would finish, then reduced in series order
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < parts.size(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(5));
+        RunningStats[] shuffled = new RunningStats[parts.size()];
+        for (int i : order) {
+            shuffled[i] = RunningStats.of(data, i * 777, Math.min(777, data.length - i * 777), MAX_LAG);
+        }
+
+        RunningStats first = RunningStats.reduce(parts);
+        RunningStats second = RunningStats.reduce(Arrays.asList(shuffled));
+        assertEquals(Double.doubleToLongBits(first.mean()), Double.doubleToLongBits(second.mean()));
+        assertEquals(Double.doubleToLongBits(first.variance()), Double.doubleToLongBits(second.variance()));
+        for (int k = 1; k <= MAX_LAG; k++) {
+            assertEquals(Double.doubleToLongBits(first.autoCovariance(k)),
+                    Double.doubleToLongBits(second.autoCovariance(k)));
+        }
+        assertMatchesStats(data, first);
+    }
+
+    @Test
+    public void reduceLeavesPartsUnchanged() {
+        double[] data = series(20, 6);
+        RunningStats left = RunningStats.of(data, 0, 10, MAX_LAG);
+        RunningStats right = RunningStats.of(data, 10, 10, MAX_LAG);
+        double before = left.autoCovariance(3);
+        RunningStats.reduce(Arrays.asList(left, right));
+        assertEquals(10, left.count());
+        assertEquals(before, left.autoCovariance(3), 0.0);
+    }
+
+    @Test
+    public void emptySummary() {
+        RunningStats stats = new RunningStats();
+        assertEquals(0, stats.count());
+        assertTrue(Double.isNaN(stats.mean()));
+        assertTrue(Double.isNaN(stats.min()));
+        stats.add(3.0);
+        assertEquals(0.0, stats.variance(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsLagBeyondMaxLag() {
+        RunningStats.of(series(10, 7), 0, 10, 2).autoCovariance(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMismatchedMaxLag() {
+        new RunningStats(2).combine(new RunningStats(3));
+    }
+}
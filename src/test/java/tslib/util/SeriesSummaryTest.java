@@ -0,0 +1,125 @@
+package tslib.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class SeriesSummaryTest {
+
+    private static double[] series(int n, long seed) {
+        Random random = new Random(seed);
+        double[] y = new double[n];
+        for (int t = 0; t < n; t++) {
+            y[t] = 1e4 + Math.exp(random.nextGaussian());
+        }
+        return y;
+    }
+
+    /** Two-pass reference moments. */
+    private static double[] moments(double[] y, int from, int to) {
+        double mean = 0;
+        for (int i = from; i < to; i++) {
+            mean += y[i];
+        }
+        mean /= (to - from);
+        double m2 = 0, m3 = 0, m4 = 0;
+        for (int i = from; i < to; i++) {
+            double d = y[i] - mean;
+            m2 += d * d;
+            m3 += d * d * d;
+            m4 += d * d * d * d;
+        }
+        return new double[] {mean, m2, m3, m4};
+    }
+
+    @Test
+    public void matchesTwoPassMomentsAndStats() {
+        double[] y = series(5000, 1);
+        SeriesSummary summary = SeriesSummary.of(y);
+        double[] ref = moments(y, 0, y.length);
+        int n = y.length;
+
+        List<Double> list = new ArrayList<>();
+        for (double v : y) {
+            list.add(v);
+        }
+        assertEquals(n, summary.count());
+        assertEquals(Stats.average(list), summary.mean(), 1e-9);
+        assertEquals(Stats.variance(list), summary.variance(), 1e-9);
+        assertEquals(Math.sqrt(n) * ref[2] / Math.pow(ref[1], 1.5), summary.skewness(), 1e-9);
+        assertEquals(n * ref[3] / (ref[1] * ref[1]) - 3, summary.kurtosis(), 1e-9);
+        assertEquals(Stats.getMinimum(list), summary.min(), 0.0);
+        assertEquals(Stats.getMaximum(list), summary.max(), 0.0);
+        assertEquals(Stats.getMinimumIndex(list), summary.minIndex());
+        assertEquals(Stats.getMaximumIndex(list), summary.maxIndex());
+    }
+
+    @Test
+    public void indicesAreRelativeToRangeAndReportFirstTie() {
+        double[] y = new double[3000];
+        y[10] = -1;
+        y[2500] = -1;
+        y[1500] = 7;
+        y[2999] = 7;
+        SeriesSummary summary = SeriesSummary.of(y, 5, 2995);
+        assertEquals(5, summary.minIndex());
+        assertEquals(1495, summary.maxIndex());
+    }
+
+    @Test
+    public void combineEqualsWholeRange() {
+        double[] y = series(3000, 2);
+        SeriesSummary whole = SeriesSummary.of(y);
+        SeriesSummary merged = SeriesSummary.of(y, 0, 1234).combine(SeriesSummary.of(y, 1234, 1766));
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.mean(), merged.mean(), 1e-9);
+        assertEquals(whole.variance(), merged.variance(), 1e-9);
+        assertEquals(whole.skewness(), merged.skewness(), 1e-9);
+        assertEquals(whole.kurtosis(), merged.kurtosis(), 1e-9);
+        assertEquals(whole.minIndex(), merged.minIndex());
+        assertEquals(whole.maxIndex(), merged.maxIndex());
+    }
+
+    @Test
+    public void parallelIsDeterministicAcrossPools() {
+        double[] y = series(10 * SeriesSummary.CHUNK + 123, 3);
+        SeriesSummary sequential = SeriesSummary.of(y);
+        SeriesSummary one = SeriesSummary.parallel(y, 0, y.length, new ForkJoinPool(1));
+        SeriesSummary four = SeriesSummary.parallel(y, 0, y.length, new ForkJoinPool(4));
+
+        assertEquals(Double.doubleToLongBits(one.mean()), Double.doubleToLongBits(four.mean()));
+        assertEquals(Double.doubleToLongBits(one.variance()), Double.doubleToLongBits(four.variance()));
+        assertEquals(Double.doubleToLongBits(one.kurtosis()), Double.doubleToLongBits(four.kurtosis()));
+        assertEquals(sequential.mean(), four.mean(), 1e-9);
+        assertEquals(sequential.variance(), four.variance(), 1e-9);
+        assertEquals(sequential.skewness(), four.skewness(), 1e-9);
+        assertEquals(sequential.minIndex(), four.minIndex());
+        assertEquals(sequential.maxIndex(), four.maxIndex());
+    }
+
+    @Test
+    public void constantAndSingleValue() {
+        SeriesSummary constant = SeriesSummary.of(new double[] {4, 4, 4});
+        assertEquals(0.0, constant.variance(), 0.0);
+        assertEquals(0.0, constant.skewness(), 0.0);
+        assertEquals(0.0, constant.kurtosis(), 0.0);
+        assertEquals(0, constant.minIndex());
+
+        SeriesSummary single = SeriesSummary.of(new double[] {2});
+        assertEquals(2.0, single.mean(), 0.0);
+        assertEquals(0.0, single.variance(), 0.0);
+    }
+
+    @Test
+    public void emptyRange() {
+        SeriesSummary empty = SeriesSummary.of(new double[5], 2, 0);
+        assertEquals(0, empty.count());
+        assertTrue(Double.isNaN(empty.mean()));
+        assertEquals(-1, empty.minIndex());
+    }
+}
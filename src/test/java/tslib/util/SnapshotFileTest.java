@@ -0,0 +1,186 @@
+package tslib.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tslib.model.expsmoothing.DoubleExpSmoothing;
+import tslib.model.expsmoothing.EtsModel;
+import tslib.model.expsmoothing.ExpSmoothingUpdater;
+import tslib.model.expsmoothing.SingleExpSmoothing;
+import tslib.model.expsmoothing.TripleExpSmoothing;
+import tslib.movingaverage.CumulativeMovingAverage;
+import tslib.movingaverage.ExponentialMovingAverage;
+import tslib.movingaverage.MovingAverage;
+import tslib.movingaverage.MovingAverageRegistry;
+import tslib.movingaverage.SimpleMovingAverage;
+import tslib.movingaverage.WeightedMovingAverage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class SnapshotFileTest {
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("tslib", ".snap");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static List<MovingAverage> averages() {
+        return Arrays.asList(
+                new SimpleMovingAverage(5),
+                new SimpleMovingAverage(7, true),
+                new WeightedMovingAverage(4),
+                new WeightedMovingAverage(6, true),
+                new CumulativeMovingAverage(),
+                new CumulativeMovingAverage(true),
+                new ExponentialMovingAverage(0.3));
+    }
+
+    private static List<ExpSmoothingUpdater> updaters() {
+        return Arrays.asList(
+                new SingleExpSmoothing(0.4).newUpdater(),
+                new DoubleExpSmoothing(0.5, 0.3, 1).newUpdater(),
+                new TripleExpSmoothing(0.5, 0.4, 0.6, 4, false).newUpdater(),
+                new EtsModel(EtsModel.Trend.DAMPED, EtsModel.Season.MULTIPLICATIVE, 0.4, 0.2, 0.3, 0.9, 4).newUpdater());
+    }
+
+    @Test
+    public void restoredAveragesContinueBitForBit() throws IOException {
+        Random random = new Random(7);
+        List<MovingAverage> original = averages();
+        for (int i = 0; i < 103; i++) {
+            double y = 100 + random.nextGaussian();
+            original.forEach(ma -> ma.push(y));
+        }
+        SnapshotFile.write(file, snapshottables(original));
+
+        List<MovingAverage> restored = averages();
+        SnapshotFile.read(file, snapshottables(restored));
+        for (int i = 0; i < 50; i++) {
+            double y = 100 + random.nextGaussian();
+            for (int k = 0; k < original.size(); k++) {
+                assertEquals(Double.doubleToLongBits(original.get(k).push(y)),
+                        Double.doubleToLongBits(restored.get(k).push(y)));
+            }
+        }
+    }
+
+    @Test
+    public void restoredUpdatersContinueBitForBit() throws IOException {
+        // Snapshot mid-warmup as well as after initialization
+        for (int observed : new int[] {3, 40}) {
+            List<ExpSmoothingUpdater> original = updaters();
+            for (int i = 0; i < observed; i++) {
+                double y = 50 + 10 * Math.sin(i * Math.PI / 2) + i;
+                original.forEach(u -> u.update(y));
+            }
+            SnapshotFile.write(file, original);
+
+            List<ExpSmoothingUpdater> restored = updaters();
+            SnapshotFile.read(file, restored);
+            for (int i = observed; i < observed + 20; i++) {
+                double y = 50 + 10 * Math.sin(i * Math.PI / 2) + i;
+                for (int k = 0; k < original.size(); k++) {
+                    original.get(k).update(y);
+                    restored.get(k).update(y);
+                    assertEquals(original.get(k).count(), restored.get(k).count());
+                    if (original.get(k).isReady()) {
+                        assertEquals(Double.doubleToLongBits(original.get(k).forecast(3)),
+                                Double.doubleToLongBits(restored.get(k).forecast(3)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void registryRoundTrip() throws IOException {
+        MovingAverageRegistry original = MovingAverageRegistry.ema(0.2);
+        for (long key = 0; key < 10_000; key++) {
+            original.push(key, key);
+            original.push(key, 2 * key);
+        }
+        original.push("sensor-1", 4.0);
+        SnapshotFile.write(file, List.of(original));
+
+        MovingAverageRegistry restored = MovingAverageRegistry.ema(0.2);
+        SnapshotFile.read(file, List.of(restored));
+        assertEquals(original.size(), restored.size());
+        for (long key = 0; key < 10_000; key += 97) {
+            assertEquals(original.get(key), restored.get(key), 0.0);
+            assertEquals(original.push(key, 1.0), restored.push(key, 1.0), 0.0);
+        }
+        assertEquals(4.0, restored.get("sensor-1"), 0.0);
+    }
+
+    @Test
+    public void spansSeveralMappingWindows() throws IOException {
+        // 200 averages of 50k points each is ~80 MB, more than one 64 MiB mapping
+        Supplier<List<SimpleMovingAverage>> make = () -> {
+            List<SimpleMovingAverage> list = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                list.add(new SimpleMovingAverage(50_000));
+            }
+            return list;
+        };
+        List<SimpleMovingAverage> original = make.get();
+        for (int i = 0; i < original.size(); i++) {
+            original.get(i).push(i);
+        }
+        SnapshotFile.write(file, original);
+
+        List<SimpleMovingAverage> restored = make.get();
+        SnapshotFile.read(file, restored);
+        for (int i = 0; i < restored.size(); i++) {
+            for (int j = 1; j < 50_000; j++) {
+                restored.get(i).push(i);
+            }
+            assertEquals(i, restored.get(i).push(i), 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMismatchedPeriod() {
+        SimpleMovingAverage sma = new SimpleMovingAverage(5);
+        ByteBuffer buffer = ByteBuffer.allocate(sma.snapshotSize());
+        sma.snapshot(buffer);
+        buffer.flip();
+        new SimpleMovingAverage(6).restore(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMismatchedStateCount() throws IOException {
+        SnapshotFile.write(file, List.of(new CumulativeMovingAverage()));
+        SnapshotFile.read(file, List.of(new CumulativeMovingAverage(), new CumulativeMovingAverage()));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignFile() throws IOException {
+        Files.write(file, new byte[32]);
+        SnapshotFile.read(file, List.of(new CumulativeMovingAverage()));
+    }
+
+    private static List<Snapshottable> snapshottables(List<MovingAverage> averages) {
+        List<Snapshottable> list = new ArrayList<>();
+        for (MovingAverage ma : averages) {
+            list.add((Snapshottable) ma);
+        }
+        return list;
+    }
+}
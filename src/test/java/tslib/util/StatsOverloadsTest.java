@@ -0,0 +1,120 @@
+package tslib.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StatsOverloadsTest {
+
+    private static final int OFFSET = 7;
+    private static final int N = 500;
+
+    private static double[] padded() {
+        Random random = new Random(11);
+        double[] y = new double[OFFSET + N + 5];
+        for (int t = 0; t < y.length; t++) {
+            y[t] = 20 + 3 * Math.sin(t / 4.0) + random.nextGaussian();
+        }
+        return y;
+    }
+
+    private static List<Double> list(double[] y) {
+        List<Double> list = new ArrayList<>();
+        for (int i = OFFSET; i < OFFSET + N; i++) {
+            list.add(y[i]);
+        }
+        return list;
+    }
+
+    private static void assertMatchesList(List<Double> list, double[] y, DoubleBuffer buffer) {
+        int position = buffer.position();
+        assertEquals(Stats.average(list), Stats.average(y, OFFSET, N), 0.0);
+        assertEquals(Stats.average(list), Stats.average(buffer), 0.0);
+        assertEquals(Stats.variance(list), Stats.variance(y, OFFSET, N), 0.0);
+        assertEquals(Stats.variance(list), Stats.variance(buffer), 0.0);
+        assertEquals(Stats.standardDeviation(list), Stats.standardDeviation(buffer), 0.0);
+        assertEquals(Stats.getMinimumIndex(list), Stats.getMinimumIndex(y, OFFSET, N));
+        assertEquals(Stats.getMinimumIndex(list), Stats.getMinimumIndex(buffer));
+        assertEquals(Stats.getMaximumIndex(list), Stats.getMaximumIndex(buffer));
+        assertEquals(Stats.getMinimum(list), Stats.getMinimum(buffer), 0.0);
+        assertEquals(Stats.getMaximum(list), Stats.getMaximum(y, OFFSET, N), 0.0);
+        assertArrayEquals(Stats.getMinMax(list), Stats.getMinMax(buffer), 0.0);
+        assertArrayEquals(Stats.getMinMaxIndices(list), Stats.getMinMaxIndices(y, OFFSET, N));
+        assertArrayEquals(Stats.getMinMaxIndices(list), Stats.getMinMaxIndices(buffer));
+        for (int k : new int[] {0, 1, 5, N - 1, N}) {
+            assertEquals(Stats.getAutoCovariance(list, k), Stats.getAutoCovariance(y, OFFSET, N, k), 0.0);
+            assertEquals(Stats.getAutoCovariance(list, k), Stats.getAutoCovariance(buffer, k), 0.0);
+            assertEquals(Stats.getAutoCorrelation(list, k), Stats.getAutoCorrelation(buffer, k), 0.0);
+        }
+        // 10 lags takes the direct path, 300 the FFT
+        for (int lags : new int[] {10, 300}) {
+            assertArrayEquals(Stats.getAcf(list, lags), Stats.getAcf(y, OFFSET, N, lags), 0.0);
+            assertArrayEquals(Stats.getAcf(list, lags), Stats.getAcf(buffer, lags), 1e-15);
+        }
+        assertArrayEquals(Stats.getPacf(list, 8), Stats.getPacf(y, OFFSET, N, 8), 0.0);
+        assertArrayEquals(Stats.getPacf(list, 8), Stats.getPacf(buffer, 8), 1e-15);
+        assertEquals(Stats.summarize(list).kurtosis(), Stats.summarize(buffer).kurtosis(), 1e-12);
+        assertEquals(Stats.summarize(list).maxIndex(), Stats.summarize(y, OFFSET, N).maxIndex());
+        assertEquals(position, buffer.position());
+    }
+
+    @Test
+    public void heapBufferMatchesList() {
+        double[] y = padded();
+        DoubleBuffer buffer = DoubleBuffer.wrap(y, OFFSET, N).slice();
+        assertMatchesList(list(y), y, buffer);
+    }
+
+    @Test
+    public void directBufferMatchesList() {
+        double[] y = padded();
+        DoubleBuffer buffer = ByteBuffer.allocateDirect(8 * y.length).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        buffer.put(y).position(OFFSET).limit(OFFSET + N);
+        assertFalse(buffer.hasArray());
+        assertMatchesList(list(y), y, buffer);
+    }
+
+    @Test
+    public void mappedFileIsReadInPlace() throws IOException {
+        double[] y = padded();
+        Path file = Files.createTempFile("tslib", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_WRITE, 0, 8L * y.length);
+            bytes.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(y);
+
+            DoubleBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8L * y.length)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            mapped.position(OFFSET).limit(OFFSET + N);
+            assertMatchesList(list(y), y, mapped);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyBuffer() {
+        Stats.average(DoubleBuffer.allocate(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyRange() {
+        Stats.variance(new double[3], 1, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsRangeBeyondArray() {
+        Stats.average(new double[3], 2, 2);
+    }
+}